@@ -0,0 +1,208 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Interval;
+import net.imglib2.Localizable;
+import net.imglib2.Point;
+import net.imglib2.RandomAccess;
+import net.imglib2.transform.integer.Mixed;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import java.util.Arrays;
+
+/**
+ * Base class of {@link AnalyticMetadataItem}s, leaving the function and its reparameterization to subclasses.
+ */
+abstract class AnalyticItem implements AnalyticMetadataItem {
+
+    final String name;
+    final int numDimensions;
+    final int axis;
+    final int[] attachedAxes;
+    final long attachedMask;
+    final int[] varyingAxes;
+    final long varyingMask;
+
+    AnalyticItem(final String name, final int numDimensions, final int axis, final int... attachedAxes) {
+        this.name = name;
+        this.numDimensions = numDimensions;
+        this.axis = axis;
+        this.attachedAxes = attachedAxes;
+        this.attachedMask = Metadata.axisMask(attachedAxes);
+        this.varyingAxes = axis < 0 ? new int[0] : new int[] {axis};
+        this.varyingMask = Metadata.axisMask(varyingAxes);
+    }
+
+    /**
+     * Creates the item whose value at {@code x} is the value of this item at {@code scale * x + offset}.
+     */
+    abstract AnalyticItem reparameterize(int numDimensions, int axis, int[] attachedAxes, long scale, long offset);
+
+    @Override
+    public AnalyticMetadataItem transform(Mixed transform) {
+        // Map attached axes as MetadataItemView does
+        final int[] attached = new int[attachedAxes.length];
+        int count = 0;
+        for (int a : attachedAxes) {
+            if (!transform.getComponentZero(a)) {
+                attached[count++] = transform.getComponentMapping(a);
+            }
+        }
+        final int[] mapped = Arrays.copyOf(attached, count);
+        final int n = transform.numSourceDimensions();
+        if (axis < 0) {
+            return reparameterize(n, -1, mapped, 1, 0);
+        }
+        final long translation = transform.getTranslation(axis);
+        if (transform.getComponentZero(axis)) {
+            // Sliced: constant at the slice position
+            return new PolynomialItem(name, new double[] {evaluate(translation)}, n, -1, mapped);
+        }
+        final long scale = transform.getComponentInversion(axis) ? -1 : 1;
+        return reparameterize(n, transform.getComponentMapping(axis), mapped, scale, translation);
+    }
+
+    @Override
+    public AnalyticMetadataItem transform(long[] steps) {
+        return axis < 0 ? this : reparameterize(numDimensions, axis, attachedAxes, steps[axis], 0);
+    }
+
+    @Override
+    public double getDouble(long... pos) {
+        return axis < 0 ? evaluate(0) : evaluate(pos[axis]);
+    }
+
+    @Override
+    public double getDouble(Localizable pos) {
+        return axis < 0 ? evaluate(0) : evaluate(pos.getLongPosition(axis));
+    }
+
+    @Override
+    public double doubleValue() {
+        return evaluate(0);
+    }
+
+    @Override
+    public DoubleType getAt(long... position) {
+        return new DoubleType(getDouble(position));
+    }
+
+    @Override
+    public DoubleType getAt(int... position) {
+        return new DoubleType(axis < 0 ? evaluate(0) : evaluate(position[axis]));
+    }
+
+    @Override
+    public DoubleType getAt(Localizable position) {
+        return new DoubleType(getDouble(position));
+    }
+
+    @Override
+    public DoubleType value() {
+        return new DoubleType(doubleValue());
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int axis() {
+        return axis;
+    }
+
+    @Override
+    public int[] attachedAxes() {
+        return attachedAxes;
+    }
+
+    @Override
+    public long attachedAxesMask() {
+        return attachedMask;
+    }
+
+    @Override
+    public int[] varyingAxes() {
+        return varyingAxes;
+    }
+
+    @Override
+    public long varyingAxesMask() {
+        return varyingMask;
+    }
+
+    @Override
+    public Class<?> valueClass() {
+        return DoubleType.class;
+    }
+
+    @Override
+    public RandomAccess<DoubleType> randomAccess() {
+        return new AnalyticRandomAccess();
+    }
+
+    @Override
+    public RandomAccess<DoubleType> randomAccess(Interval interval) {
+        return randomAccess();
+    }
+
+    @Override
+    public int numDimensions() {
+        return numDimensions;
+    }
+
+    class AnalyticRandomAccess extends Point implements RandomAccess<DoubleType> {
+
+        final DoubleType type = new DoubleType();
+
+        AnalyticRandomAccess() {
+            super(numDimensions);
+        }
+
+        @Override
+        public DoubleType get() {
+            type.set(getDouble(this));
+            return type;
+        }
+
+        @Override
+        public RandomAccess<DoubleType> copy() {
+            AnalyticRandomAccess copy = new AnalyticRandomAccess();
+            copy.setPosition(this);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.meta.view.Viewable;
+
+/**
+ * A {@link DoubleMetadataItem} computed in closed form from the position along
+ * one axis, such as timestamps or z-positions that are affine in the index.
+ * <p>
+ * Analytic items are {@link Viewable}: slicing, translating, inverting or
+ * subsampling one yields another analytic item with new coefficients, rather
+ * than a wrapper. {@link net.imglib2.meta.view.MetadataStoreView}s and
+ * {@link net.imglib2.meta.view.MetadataStoreSubsampleView}s transform analytic
+ * items this way, so long view chains cost nothing on access.
+ * </p>
+ *
+ * @see Metadata#affine(String, double, double, int, int, int...)
+ * @see Metadata#polynomial(String, double[], int, int, int...)
+ * @see Metadata#piecewiseLinear(String, double[], double[], int, int, int...)
+ */
+public interface AnalyticMetadataItem extends DoubleMetadataItem, Viewable<AnalyticMetadataItem> {
+
+	/**
+	 * @return the axis this metadata varies along, or {@code -1} if it is
+	 *         constant (e.g. after slicing that axis away).
+	 */
+	int axis();
+
+	/**
+	 * Evaluates this metadata at (possibly non-integer) position {@code x}
+	 * along {@link #axis()}.
+	 *
+	 * @param x a position along {@link #axis()}.
+	 * @return the value at {@code x}.
+	 */
+	double evaluate(double x);
+}
@@ -0,0 +1,135 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Interval;
+import net.imglib2.Localizable;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Maps positions in the metadata space onto indices of a flat array holding an {@code m}-dimensional block of
+ * values, without allocation.
+ */
+final class ArrayIndex {
+
+    final int[] axes;
+    final long[] dims;
+    final long[] strides;
+
+    ArrayIndex(final int length, final long[] dims, final int[] varyingAxes) {
+        if (dims.length != varyingAxes.length) {
+            throw new IllegalArgumentException("Expected " + varyingAxes.length + " data dimensions, got " + Arrays.toString(dims));
+        }
+        this.axes = varyingAxes.clone();
+        this.dims = dims.clone();
+        this.strides = new long[dims.length];
+        long size = 1;
+        for (int i = 0; i < dims.length; i++) {
+            strides[i] = size;
+            size *= dims[i];
+        }
+        if (size != length) {
+            throw new IllegalArgumentException("Data of length " + length + " does not match dimensions " + Arrays.toString(dims));
+        }
+    }
+
+    /** @return the index of {@code pos}, a position in the metadata space */
+    int of(final long[] pos) {
+        long i = 0;
+        for (int d = 0; d < axes.length; d++) {
+            i += pos[axes[d]] * strides[d];
+        }
+        return (int) i;
+    }
+
+    /** @return the index of {@code pos}, a position in the metadata space */
+    int of(final Localizable pos) {
+        long i = 0;
+        for (int d = 0; d < axes.length; d++) {
+            i += pos.getLongPosition(axes[d]) * strides[d];
+        }
+        return (int) i;
+    }
+
+    /** @return the index of {@code pos}, a position in the {@code m}-dimensional data space */
+    int ofSource(final Localizable pos) {
+        long i = 0;
+        for (int d = 0; d < strides.length; d++) {
+            i += pos.getLongPosition(d) * strides[d];
+        }
+        return (int) i;
+    }
+
+    /**
+     * Copies the values of {@code region}, an interval of the {@code m}-dimensional data space, from the array
+     * {@code src} into the array {@code dst}, in flat iteration order. Rows along the first dimension are
+     * contiguous in {@code src}, so are copied at once.
+     *
+     * @throws IndexOutOfBoundsException if {@code region} is not contained in the data
+     */
+    void copy(final Object src, final Interval region, final Object dst) {
+        for (int d = 0; d < dims.length; d++) {
+            if (region.min(d) < 0 || region.max(d) >= dims[d]) {
+                throw new IndexOutOfBoundsException("Region from " + Arrays.toString(region.minAsLongArray()) + " to " + Arrays.toString(region.maxAsLongArray()) + " exceeds the data dimensions " + Arrays.toString(dims));
+            }
+        }
+        if (strides.length == 0) {
+            System.arraycopy(src, 0, dst, 0, 1);
+            return;
+        }
+        final int rowLength = (int) region.dimension(0);
+        if (rowLength == 0) {
+            return;
+        }
+        final long[] pos = region.minAsLongArray();
+        final int numRows = Array.getLength(dst) / rowLength;
+        for (int row = 0; row < numRows; row++) {
+            long i = 0;
+            for (int d = 0; d < strides.length; d++) {
+                i += pos[d] * strides[d];
+            }
+            System.arraycopy(src, (int) i, dst, row * rowLength, rowLength);
+            // Advance to the next row, carrying into higher dimensions
+            for (int d = 1; d < strides.length; d++) {
+                if (pos[d] < region.max(d)) {
+                    pos[d]++;
+                    break;
+                }
+                pos[d] = region.min(d);
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Interval;
+import net.imglib2.Localizable;
+import net.imglib2.Point;
+import net.imglib2.RandomAccess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The {@link CachedMetadataItem} implementation, created by {@link Metadata#cached}.
+ */
+class CachedItem<T> implements CachedMetadataItem<T> {
+
+    // Marks positions without a cached value, as null may be a value
+    private static final Object MISSING = new Object();
+
+    final MetadataItem<T> source;
+    final int[] varyingAxes;
+    final LinkedHashMap<PositionKey, Object> cache;
+    // Reused by each thread for lookups, copied only when storing a value
+    final ThreadLocal<PositionKey> probes;
+
+    CachedItem(final MetadataItem<T> source, final int maxSize) {
+        this.source = source;
+        this.varyingAxes = source.varyingAxes();
+        this.probes = ThreadLocal.withInitial(() -> new PositionKey(varyingAxes.length));
+        // Access order, evicting the least recently used value
+        this.cache = new LinkedHashMap<PositionKey, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PositionKey, Object> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private Object lookup(final PositionKey key) {
+        synchronized (cache) {
+            final Object value = cache.get(key);
+            return value != null || cache.containsKey(key) ? value : MISSING;
+        }
+    }
+
+    private T store(final PositionKey key, final T value) {
+        synchronized (cache) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T getAt(long... position) {
+        final PositionKey key = probes.get().set(varyingAxes, position);
+        final Object value = lookup(key);
+        return value != MISSING ? (T) value : store(key.copy(), source.getAt(position));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T getAt(int... position) {
+        final PositionKey key = probes.get().set(varyingAxes, position);
+        final Object value = lookup(key);
+        return value != MISSING ? (T) value : store(key.copy(), source.getAt(position));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T getAt(Localizable position) {
+        final PositionKey key = probes.get().set(varyingAxes, position);
+        final Object value = lookup(key);
+        return value != MISSING ? (T) value : store(key.copy(), source.getAt(position));
+    }
+
+    @Override
+    public void setAt(T value, int... pos) {
+        source.setAt(value, pos);
+        invalidate(probes.get().set(varyingAxes, pos));
+    }
+
+    @Override
+    public void setAt(T value, long... pos) {
+        source.setAt(value, pos);
+        invalidateAt(pos);
+    }
+
+    @Override
+    public void setAt(T value, Localizable pos) {
+        source.setAt(value, pos);
+        invalidate(probes.get().set(varyingAxes, pos));
+    }
+
+    @Override
+    public MetadataItem<T> source() {
+        return source;
+    }
+
+    // Bulk reads go to the source directly, leaving the cache to random accesses
+
+    @Override
+    public void forEachVarying(Interval region, Consumer<? super T> action) {
+        source.forEachVarying(region, action);
+    }
+
+    @Override
+    public double[] toDoubleArray(Interval region, ToDoubleFunction<? super T> toDouble) {
+        return source.toDoubleArray(region, toDouble);
+    }
+
+    @Override
+    public long[] toLongArray(Interval region, ToLongFunction<? super T> toLong) {
+        return source.toLongArray(region, toLong);
+    }
+
+    @Override
+    public T[] toArray(Interval region, IntFunction<T[]> generator) {
+        return source.toArray(region, generator);
+    }
+
+    @Override
+    public boolean isPresent() {
+        return source.isPresent();
+    }
+
+    @Override
+    public MetadataItem<T> or(Supplier<MetadataItem<T>> defaultSupplier) {
+        return source.isPresent() ? this : source.or(defaultSupplier);
+    }
+
+    @Override
+    public int numCached() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void invalidateAt(long... pos) {
+        invalidate(probes.get().set(varyingAxes, pos));
+    }
+
+    private void invalidate(final PositionKey key) {
+        synchronized (cache) {
+            cache.remove(key);
+        }
+    }
+
+    @Override
+    public String name() {
+        return source.name();
+    }
+
+    @Override
+    public int[] attachedAxes() {
+        return source.attachedAxes();
+    }
+
+    @Override
+    public long attachedAxesMask() {
+        return source.attachedAxesMask();
+    }
+
+    @Override
+    public int[] varyingAxes() {
+        return varyingAxes;
+    }
+
+    @Override
+    public long varyingAxesMask() {
+        return source.varyingAxesMask();
+    }
+
+    @Override
+    public Class<?> valueClass() {
+        return source.valueClass();
+    }
+
+    @Override
+    public RandomAccess<T> randomAccess() {
+        return new CachedRandomAccess();
+    }
+
+    @Override
+    public RandomAccess<T> randomAccess(Interval interval) {
+        return randomAccess();
+    }
+
+    @Override
+    public int numDimensions() {
+        return source.numDimensions();
+    }
+
+    @Override
+    public String toString() {
+        return "Cached " + source;
+    }
+
+    class CachedRandomAccess extends Point implements RandomAccess<T> {
+
+        // Reused for lookups, copied only when storing a value
+        final PositionKey key = new PositionKey(varyingAxes.length);
+
+        CachedRandomAccess() {
+            super(source.numDimensions());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get() {
+            final Object value = lookup(key.set(varyingAxes, this));
+            return value != MISSING ? (T) value : store(key.copy(), source.getAt(this));
+        }
+
+        @Override
+        public RandomAccess<T> copy() {
+            CachedRandomAccess copy = new CachedRandomAccess();
+            copy.setPosition(this);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+/**
+ * A {@link MetadataItem} remembering recently accessed values of another item.
+ * <p>
+ * Caching suits items whose values are expensive to compute, such as values
+ * derived from a backend on every access. Values are remembered by their
+ * position along the {@link #varyingAxes() varying axes}, and the least
+ * recently used values are evicted once the cache is full. Writes through
+ * {@link #setAt(Object, long...)} et al. are passed on to the cached item
+ * and evict the value written; writes bypassing this item require
+ * {@link #invalidate()}.
+ * </p>
+ * <p>
+ * Values are returned as the cached item returned them, so the cached item
+ * must not reuse the instances it returns.
+ * </p>
+ *
+ * @param <T> the type of metadata values.
+ * @see Metadata#cached(MetadataItem, int)
+ */
+public interface CachedMetadataItem<T> extends MetadataItem<T> {
+
+	/**
+	 * @return the {@link MetadataItem} whose values are cached.
+	 */
+	MetadataItem<T> source();
+
+	/**
+	 * @return the number of values currently cached.
+	 */
+	int numCached();
+
+	/**
+	 * Evicts all cached values, such that they are read again from
+	 * {@link #source()}.
+	 */
+	void invalidate();
+
+	/**
+	 * Evicts the value cached for position {@code pos}, such that it is read
+	 * again from {@link #source()}.
+	 *
+	 * @param pos a position in the {@code n}-dimensional metadata space.
+	 */
+	void invalidateAt(long... pos);
+}
@@ -0,0 +1,141 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.Collection;
+
+/**
+ * A thread-safe {@link MetadataStore}, for metadata that is written and read
+ * concurrently.
+ * <p>
+ * Items are kept in an immutable, indexed snapshot. Readers never block: each
+ * call to {@link #items()} or {@link #item(String, Class, int...)} sees one
+ * consistent snapshot, and the collection returned by {@link #items()} never
+ * changes afterwards. Writers copy the current snapshot, modify the copy, and
+ * publish it atomically; writes are therefore {@code O(n)}, and best suited to
+ * metadata that is read far more often than it is written.
+ * </p>
+ * <p>
+ * Apart from thread safety, this store behaves like {@link IndexedMetadataStore}.
+ * </p>
+ */
+public class ConcurrentMetadataStore implements MetadataStore {
+
+	private final Object writeLock = new Object();
+	private final int numDims;
+	private final InfoCache infos = new InfoCache(this);
+	private volatile ItemIndex snapshot;
+
+	public ConcurrentMetadataStore(int n) {
+		this.snapshot = new ItemIndex();
+		this.numDims = n;
+	}
+
+	@Override
+	public Collection<? extends MetadataItem<?>> items() {
+		return snapshot.items();
+	}
+
+	@Override
+	public <T> MetadataItem<T> item(String name, Class<T> ofType, int... dims) {
+		MetadataItem<T> item = snapshot.find(name, ofType, dims);
+		return item != null ? item : Metadata.absent(name, numDimensions(), dims);
+	}
+
+	@Override
+	public <T> MetadataItem<T> item(MetadataKey<T> key, int... dims) {
+		MetadataItem<T> item = snapshot.find(key, dims);
+		return item != null ? item : Metadata.absent(key.name(), numDimensions(), dims);
+	}
+
+	@Override
+	public <T> void add(MetadataItem<T> item) {
+		synchronized (writeLock) {
+			ItemIndex next = new ItemIndex(snapshot);
+			next.add(item);
+			snapshot = next;
+		}
+	}
+
+	@Override
+	public <T> void put(MetadataItem<T> item) {
+		synchronized (writeLock) {
+			ItemIndex next = new ItemIndex(snapshot);
+			next.put(item);
+			snapshot = next;
+		}
+	}
+
+	@Override
+	public boolean remove(String key, int... attachedAxes) {
+		synchronized (writeLock) {
+			ItemIndex next = new ItemIndex(snapshot);
+			if (!next.remove(key, attachedAxes)) {
+				return false;
+			}
+			snapshot = next;
+			return true;
+		}
+	}
+
+	/**
+	 * Adds all {@code items}, publishing them as a single update.
+	 *
+	 * @param items the {@link MetadataItem}s to add
+	 */
+	public void addAll(Collection<? extends MetadataItem<?>> items) {
+		synchronized (writeLock) {
+			ItemIndex next = new ItemIndex(snapshot);
+			for (MetadataItem<?> item : items) {
+				next.add(item);
+			}
+			snapshot = next;
+		}
+	}
+
+	@Override
+	public <T extends HasMetadataStore> T info(Class<T> infoClass) {
+		return infos.get(infoClass);
+	}
+
+	@Override
+	public long modificationCount() {
+		return snapshot.modCount();
+	}
+
+	@Override
+	public int numDimensions() {
+		return numDims;
+	}
+}
@@ -59,7 +59,7 @@ public interface Dataset<T> extends RandomAccessible<T> {
      * @param <T> the type of samples in {@code delegate}
      */
     static <T> Dataset<T> wrap(RandomAccessible<T> delegate) {
-        return wrap(delegate, new SimpleMetadataStore(delegate.numDimensions()));
+        return wrap(delegate, new IndexedMetadataStore(delegate.numDimensions()));
     }
 
 	/**
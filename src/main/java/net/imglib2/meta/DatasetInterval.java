@@ -38,7 +38,6 @@ import net.imglib2.RandomAccessible;
 import net.imglib2.RandomAccessibleInterval;
 import net.imglib2.meta.view.DatasetIntervalView;
 import net.imglib2.transform.integer.MixedTransform;
-import net.imglib2.view.RandomAccessibleIntervalCursor;
 
 /**
  * A coupled {@link RandomAccessibleInterval} and associated {@link MetadataStore}.
@@ -80,7 +79,7 @@ public interface DatasetInterval<T> extends Dataset<T>, RandomAccessibleInterval
      * @param <T> the type of samples in {@code delegate}
      */
     static <T> DatasetInterval<T> wrap(RandomAccessibleInterval<T> delegate) {
-        return wrap(delegate, new SimpleMetadataStore(delegate.numDimensions()));
+        return wrap(delegate, new IndexedMetadataStore(delegate.numDimensions()));
     }
 
 	/** RandomAccessibleInterval Overrides */
@@ -91,16 +90,30 @@ public interface DatasetInterval<T> extends Dataset<T>, RandomAccessibleInterval
         return DatasetIntervalView.wrap(this, this, new MixedTransform(numDimensions(), numDimensions()));
     }
 
+	// Iteration is delegated to the data, preserving its optimized cursors and iteration order
+
 	@Override
 	default Cursor< T > cursor()
 	{
-		return new RandomAccessibleIntervalCursor<>( this.data() );
+		return data().cursor();
 	}
 
 	@Override
 	default Cursor< T > localizingCursor()
 	{
-		return cursor();
+		return data().localizingCursor();
+	}
+
+	@Override
+	default long size()
+	{
+		return data().size();
+	}
+
+	@Override
+	default Object iterationOrder()
+	{
+		return data().iterationOrder();
 	}
 
     @Override
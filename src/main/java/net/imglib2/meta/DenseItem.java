@@ -0,0 +1,85 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Localizable;
+import net.imglib2.Point;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessible;
+import net.imglib2.transform.integer.Mixed;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Metadata.VaryingItem} owning its storage, which its writers write into through the item's transform.
+ */
+class DenseItem<T> extends Metadata.VaryingItem<T, RandomAccessible<T>> {
+
+    final BiConsumer<RandomAccess<T>, T> write;
+
+    DenseItem(final String name, final Class<?> declaredClass, final RandomAccessible<T> data, final Mixed tform, final BiConsumer<RandomAccess<T>, T> write, final int... attachedAxes) {
+        super(name, declaredClass, data, tform, attachedAxes);
+        this.write = write;
+    }
+
+    @Override
+    public MetadataWriter<T> writer() {
+        return new DenseWriter();
+    }
+
+    /** Positions a {@link RandomAccess} of the storage, and writes through it. */
+    private class DenseWriter implements MetadataWriter<T> {
+
+        final Point position = new Point(numDimensions());
+        final RandomAccess<T> access = data.randomAccess();
+
+        @Override
+        public void setAt(T value, int... pos) {
+            position.setPosition(pos);
+            setAt(value, position);
+        }
+
+        @Override
+        public void setAt(T value, long... pos) {
+            position.setPosition(pos);
+            setAt(value, position);
+        }
+
+        @Override
+        public void setAt(T value, Localizable pos) {
+            getTransformToSource().apply(pos, access);
+            write.accept(access, value);
+        }
+    }
+}
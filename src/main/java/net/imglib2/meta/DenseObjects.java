@@ -0,0 +1,110 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Interval;
+import net.imglib2.Point;
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessible;
+
+import java.util.Arrays;
+
+/**
+ * Dense, writable storage for objects, in flat iteration order.
+ */
+final class DenseObjects<T> implements RandomAccessible<T> {
+
+    final Object[] values;
+    final long[] strides;
+
+    DenseObjects(final long[] dims) {
+        this.strides = new long[dims.length];
+        long size = 1;
+        for (int i = 0; i < dims.length; i++) {
+            strides[i] = size;
+            size *= dims[i];
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Dimensions " + Arrays.toString(dims) + " are too large for dense storage");
+        }
+        this.values = new Object[(int) size];
+    }
+
+    @Override
+    public int numDimensions() {
+        return strides.length;
+    }
+
+    @Override
+    public RandomAccess<T> randomAccess() {
+        return new Access();
+    }
+
+    @Override
+    public RandomAccess<T> randomAccess(Interval interval) {
+        return randomAccess();
+    }
+
+    final class Access extends Point implements RandomAccess<T> {
+
+        Access() {
+            super(strides.length);
+        }
+
+        private int index() {
+            long i = 0;
+            for (int d = 0; d < strides.length; d++) {
+                i += position[d] * strides[d];
+            }
+            return (int) i;
+        }
+
+        @Override
+        public T get() {
+            //noinspection unchecked
+            return (T) values[index()];
+        }
+
+        void set(T value) {
+            values[index()] = value;
+        }
+
+        @Override
+        public Access copy() {
+            Access copy = new Access();
+            copy.setPosition(this);
+            return copy;
+        }
+    }
+}
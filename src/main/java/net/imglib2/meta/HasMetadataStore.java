@@ -35,11 +35,24 @@ package net.imglib2.meta;
 
 /**
  * Base interface for convenience metadata classes.
+ * <p>
+ * Implementations are bound to a single {@link MetadataStore} for their whole
+ * lifetime, and should hold no other mutable state, such that one instance can
+ * be cached by its store and shared between threads. To be discoverable by
+ * {@link InfoRegistry}, implementations must be created by an
+ * {@link InfoProvider} registered as a service.
+ * </p>
  * 
  * @author Gabriel Selzer
  * @author Curtis Rueden
  * @see MetadataStore#info(Class) 
  */
 public interface HasMetadataStore {
-	void setStore(MetadataStore metaData);
+
+	/**
+	 * Gets the {@link MetadataStore} this object reads from and writes to.
+	 *
+	 * @return the bound {@link MetadataStore}
+	 */
+	MetadataStore store();
 }
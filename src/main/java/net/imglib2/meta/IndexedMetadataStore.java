@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.Collection;
+
+/**
+ * A {@link MetadataStore} that indexes its metadata items by key and attached
+ * axes, such that {@link #item(String, Class, int...)} does not need to scan
+ * every item in the store.
+ * <p>
+ * Apart from lookup cost, this store behaves like {@link SimpleMetadataStore}:
+ * {@link #items()} reports items in insertion order, and when multiple items
+ * match a request, the one added first is returned.
+ * </p>
+ * <p>
+ * This store is not thread-safe; see {@link ConcurrentMetadataStore} for
+ * metadata that is written and read concurrently.
+ * </p>
+ */
+public class IndexedMetadataStore implements MetadataStore {
+
+	private final ItemIndex index;
+	private final int numDims;
+	private final InfoCache infos = new InfoCache(this);
+
+	public IndexedMetadataStore(int n) {
+		this.index = new ItemIndex();
+		this.numDims = n;
+	}
+
+	@Override
+	public Collection<? extends MetadataItem<?>> items() {
+		return index.items();
+	}
+
+	@Override
+	public <T> MetadataItem<T> item(String name, Class<T> ofType, int... dims) {
+		MetadataItem<T> item = index.find(name, ofType, dims);
+		return item != null ? item : Metadata.absent(name, numDimensions(), dims);
+	}
+
+	@Override
+	public <T> MetadataItem<T> item(MetadataKey<T> key, int... dims) {
+		MetadataItem<T> item = index.find(key, dims);
+		return item != null ? item : Metadata.absent(key.name(), numDimensions(), dims);
+	}
+
+	@Override
+	public <T> void add(MetadataItem<T> item) {
+		index.add(item);
+	}
+
+	@Override
+	public <T> void put(MetadataItem<T> item) {
+		index.put(item);
+	}
+
+	@Override
+	public boolean remove(String key, int... attachedAxes) {
+		return index.remove(key, attachedAxes);
+	}
+
+	@Override
+	public <T extends HasMetadataStore> T info(Class<T> infoClass) {
+		return infos.get(infoClass);
+	}
+
+	@Override
+	public long modificationCount() {
+		return index.modCount();
+	}
+
+	@Override
+	public int numDimensions() {
+		return numDims;
+	}
+}
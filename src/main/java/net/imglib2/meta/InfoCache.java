@@ -0,0 +1,74 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the {@link HasMetadataStore} facades of a single {@link MetadataStore},
+ * such that repeated {@link MetadataStore#info(Class)} calls return the same
+ * instance instead of creating a new one.
+ * <p>
+ * {@link MetadataStore} implementations should hold one {@link InfoCache} and
+ * delegate {@link MetadataStore#info(Class)} to {@link #get(Class)}.
+ * </p>
+ *
+ * @see InfoRegistry
+ */
+public final class InfoCache {
+
+	private final MetadataStore store;
+	private final Map<Class<?>, HasMetadataStore> facades = new ConcurrentHashMap<>();
+
+	public InfoCache(MetadataStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * Gets the facade of type {@code infoClass} bound to this cache's store,
+	 * creating it on first request.
+	 *
+	 * @param infoClass the {@link HasMetadataStore} interface
+	 * @return an implementation of {@code infoClass} bound to this cache's store
+	 * @param <T> the type of {@code infoClass}
+	 */
+	public <T extends HasMetadataStore> T get(Class<T> infoClass) {
+		HasMetadataStore facade = facades.get(infoClass);
+		if (facade == null) {
+			facade = facades.computeIfAbsent(infoClass, c -> InfoRegistry.create(infoClass, store));
+		}
+		return infoClass.cast(facade);
+	}
+}
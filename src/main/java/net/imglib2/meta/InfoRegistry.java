@@ -0,0 +1,112 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of the implementations backing {@link HasMetadataStore} interfaces.
+ * <p>
+ * Each interface is resolved at most once: either from an explicit
+ * {@link #register(Class, Function)} call, or, failing that, from the first
+ * {@link InfoProvider} of that interface found by {@link ServiceLoader}.
+ * Subsequent requests reuse the resolved provider, avoiding classpath scans.
+ * </p>
+ *
+ * @see MetadataStore#info(Class)
+ * @see InfoCache
+ */
+public final class InfoRegistry {
+
+	private static final Map<Class<?>, Function<MetadataStore, ? extends HasMetadataStore>> PROVIDERS = new ConcurrentHashMap<>();
+
+	/*
+	 * Prevent instantiation of utility class.
+	 */
+	private InfoRegistry() { }
+
+	/**
+	 * Registers the provider of {@code infoClass} implementations, replacing any
+	 * previously registered or discovered provider.
+	 * <p>
+	 * Note that {@link InfoCache}s retain the facades they have already created.
+	 * </p>
+	 *
+	 * @param infoClass the {@link HasMetadataStore} interface
+	 * @param provider creates implementations of {@code infoClass} bound to a given {@link MetadataStore}
+	 * @param <T> the type of {@code infoClass}
+	 */
+	public static <T extends HasMetadataStore> void register(Class<T> infoClass, Function<MetadataStore, ? extends T> provider) {
+		PROVIDERS.put(infoClass, provider);
+	}
+
+	/**
+	 * Creates a new implementation of {@code infoClass}, bound to {@code store}.
+	 *
+	 * @param infoClass the {@link HasMetadataStore} interface
+	 * @param store the {@link MetadataStore} the implementation should read from
+	 * @return an implementation of {@code infoClass} bound to {@code store}
+	 * @param <T> the type of {@code infoClass}
+	 * @throws IllegalArgumentException if no implementation of {@code infoClass} can be found
+	 */
+	public static <T extends HasMetadataStore> T create(Class<T> infoClass, MetadataStore store) {
+		return infoClass.cast(provider(infoClass).apply(store));
+	}
+
+	private static Function<MetadataStore, ? extends HasMetadataStore> provider(Class<? extends HasMetadataStore> infoClass) {
+		Function<MetadataStore, ? extends HasMetadataStore> provider = PROVIDERS.get(infoClass);
+		if (provider == null) {
+			provider = PROVIDERS.computeIfAbsent(infoClass, InfoRegistry::discover);
+		}
+		return provider;
+	}
+
+	private static Function<MetadataStore, ? extends HasMetadataStore> discover(Class<?> infoClass) {
+		try {
+			for (InfoProvider<?> provider : ServiceLoader.load(InfoProvider.class)) {
+				if (provider.infoClass() == infoClass) {
+					return provider::create;
+				}
+			}
+		}
+		catch (ServiceConfigurationError e) {
+			throw new IllegalArgumentException("Could not load implementation of " + infoClass.getName(), e);
+		}
+		throw new IllegalArgumentException("No implementation of " + infoClass.getName() + " is available!");
+	}
+}
@@ -0,0 +1,253 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.RandomAccess;
+import net.imglib2.RealInterval;
+import net.imglib2.RealLocalizable;
+import net.imglib2.RealPoint;
+import net.imglib2.RealRandomAccess;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.real.DoubleType;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * The {@link RealMetadataItem} implementation, created by {@link Metadata#interpolate}.
+ */
+class InterpolatedItem implements RealMetadataItem {
+
+    final MetadataItem<? extends RealType<?>> source;
+    final RealMetadataItem.Interpolation interpolation;
+    final int[] varyingAxes;
+    // Non-null iff the source can be evaluated in closed form
+    final AnalyticMetadataItem analytic;
+    // Non-null iff the source is backed by a primitive array, whose values are read by flat index
+    final ArrayIndex index;
+    final IntToDoubleFunction values;
+
+    InterpolatedItem(final MetadataItem<? extends RealType<?>> source, final RealMetadataItem.Interpolation interpolation) {
+        this.source = source;
+        this.interpolation = interpolation;
+        this.varyingAxes = source.varyingAxes();
+        this.analytic = source instanceof AnalyticMetadataItem ? (AnalyticMetadataItem) source : null;
+        if (source instanceof VaryingDoubleItem) {
+            final double[] array = ((VaryingDoubleItem) source).values;
+            this.index = ((VaryingDoubleItem) source).index;
+            this.values = i -> array[i];
+        } else if (source instanceof VaryingLongItem) {
+            final long[] array = ((VaryingLongItem) source).values;
+            this.index = ((VaryingLongItem) source).index;
+            this.values = i -> array[i];
+        } else if (source instanceof VaryingIntItem) {
+            final int[] array = ((VaryingIntItem) source).values;
+            this.index = ((VaryingIntItem) source).index;
+            this.values = i -> array[i];
+        } else {
+            this.index = null;
+            this.values = null;
+        }
+    }
+
+    /**
+     * Analytic and array-backed sources are evaluated in place. Other sources are read through a new
+     * {@link #realRandomAccess()} per call; reuse one to interpolate them repeatedly.
+     */
+    @Override
+    public double getDouble(double... pos) {
+        if (analytic != null || index != null) {
+            return evaluate(pos, null);
+        }
+        final InterpolatingAccess access = new InterpolatingAccess();
+        access.setPosition(pos);
+        return access.getDouble();
+    }
+
+    /**
+     * Analytic and array-backed sources are evaluated in place. Other sources are read through a new
+     * {@link #realRandomAccess()} per call; reuse one to interpolate them repeatedly.
+     */
+    @Override
+    public double getDouble(RealLocalizable pos) {
+        if (analytic != null || index != null) {
+            return evaluate(null, pos);
+        }
+        final InterpolatingAccess access = new InterpolatingAccess();
+        access.setPosition(pos);
+        return access.getDouble();
+    }
+
+    /**
+     * Interpolates an analytic or array-backed source at {@code pos}, or at {@code realPos} if {@code pos} is
+     * {@code null}, without allocation.
+     */
+    double evaluate(final double[] pos, final RealLocalizable realPos) {
+        if (analytic != null) {
+            final int axis = analytic.axis();
+            final double x = axis < 0 ? 0 : coordinate(pos, realPos, axis);
+            return analytic.evaluate(interpolation == RealMetadataItem.Interpolation.LINEAR ? x : Math.round(x));
+        }
+        final int[] axes = index.axes;
+        final long[] strides = index.strides;
+        if (interpolation == RealMetadataItem.Interpolation.NEAREST_NEIGHBOR) {
+            long i = 0;
+            for (int d = 0; d < axes.length; d++) {
+                i += Math.round(coordinate(pos, realPos, axes[d])) * strides[d];
+            }
+            return values.applyAsDouble((int) i);
+        }
+        // Weighted sum over the corners of the surrounding cell of the varying axes
+        double sum = 0;
+        final int numCorners = 1 << axes.length;
+        for (int corner = 0; corner < numCorners; corner++) {
+            double weight = 1;
+            long i = 0;
+            for (int d = 0; d < axes.length && weight != 0; d++) {
+                final double x = coordinate(pos, realPos, axes[d]);
+                final double floor = Math.floor(x);
+                final boolean upper = (corner & (1 << d)) != 0;
+                weight *= upper ? x - floor : 1 - (x - floor);
+                i += ((long) floor + (upper ? 1 : 0)) * strides[d];
+            }
+            // Corners without weight are skipped, as they may lie outside the source
+            if (weight != 0) {
+                sum += weight * values.applyAsDouble((int) i);
+            }
+        }
+        return sum;
+    }
+
+    private static double coordinate(final double[] pos, final RealLocalizable realPos, final int d) {
+        return pos != null ? pos[d] : realPos.getDoublePosition(d);
+    }
+
+    @Override
+    public String name() {
+        return source.name();
+    }
+
+    @Override
+    public int[] attachedAxes() {
+        return source.attachedAxes();
+    }
+
+    @Override
+    public int[] varyingAxes() {
+        return varyingAxes;
+    }
+
+    @Override
+    public RealMetadataItem.Interpolation interpolation() {
+        return interpolation;
+    }
+
+    @Override
+    public RealRandomAccess<DoubleType> realRandomAccess() {
+        return new InterpolatingAccess();
+    }
+
+    @Override
+    public RealRandomAccess<DoubleType> realRandomAccess(RealInterval interval) {
+        return realRandomAccess();
+    }
+
+    @Override
+    public DoubleType getType() {
+        return new DoubleType();
+    }
+
+    @Override
+    public int numDimensions() {
+        return source.numDimensions();
+    }
+
+    @Override
+    public String toString() {
+        return "Interpolated (" + interpolation + ") " + source;
+    }
+
+    class InterpolatingAccess extends RealPoint implements RealRandomAccess<DoubleType> {
+
+        final RandomAccess<? extends RealType<?>> access;
+        final DoubleType type = new DoubleType();
+
+        InterpolatingAccess() {
+            super(source.numDimensions());
+            access = analytic == null && index == null ? source.randomAccess() : null;
+        }
+
+        double getDouble() {
+            if (access == null) {
+                return evaluate(null, this);
+            }
+            if (interpolation == RealMetadataItem.Interpolation.NEAREST_NEIGHBOR) {
+                for (int a : varyingAxes) {
+                    access.setPosition(Math.round(getDoublePosition(a)), a);
+                }
+                return access.get().getRealDouble();
+            }
+            // Weighted sum over the corners of the surrounding cell of the varying axes
+            double sum = 0;
+            final int numCorners = 1 << varyingAxes.length;
+            for (int corner = 0; corner < numCorners; corner++) {
+                double weight = 1;
+                for (int i = 0; i < varyingAxes.length && weight != 0; i++) {
+                    final double x = getDoublePosition(varyingAxes[i]);
+                    final double floor = Math.floor(x);
+                    final boolean upper = (corner & (1 << i)) != 0;
+                    weight *= upper ? x - floor : 1 - (x - floor);
+                    access.setPosition((long) floor + (upper ? 1 : 0), varyingAxes[i]);
+                }
+                // Corners without weight are skipped, as they may lie outside the source
+                if (weight != 0) {
+                    sum += weight * access.get().getRealDouble();
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        public DoubleType get() {
+            type.set(getDouble());
+            return type;
+        }
+
+        @Override
+        public RealRandomAccess<DoubleType> copy() {
+            InterpolatingAccess copy = new InterpolatingAccess();
+            copy.setPosition(this);
+            return copy;
+        }
+    }
+}
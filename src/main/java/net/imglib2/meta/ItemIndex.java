@@ -0,0 +1,404 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An insertion-ordered collection of {@link MetadataItem}s, indexed by key.
+ * <p>
+ * Items are grouped by key, and within each key bucketed by the
+ * {@link MetadataItem#attachedAxesMask() bitmask} of the axes they are attached
+ * to. Lookups, additions, replacements and removals thus only ever consider the
+ * items sharing both, costing {@code O(1)} in the number of stored items, and
+ * linear in the number of distinct axis sets used with one key (usually one),
+ * without allocating.
+ * </p>
+ * <p>
+ * Lookups by {@link MetadataKey} go through a table indexed by
+ * {@link MetadataKey#id()}, which is filled on the first lookup of each key.
+ * Repeated lookups then neither hash nor compare the key name, and the type
+ * check of each item is remembered per item and type.
+ * </p>
+ * <p>
+ * Items attached to an axis that does not fit in a mask share the bucket of
+ * {@link Metadata#NO_AXIS_MASK}, within which they are told apart by comparing
+ * their {@link MetadataItem#attachedAxes() attached axes}.
+ * </p>
+ * <p>
+ * This class is not thread-safe; it backs {@link IndexedMetadataStore}, and is
+ * used as an immutable snapshot by {@link ConcurrentMetadataStore}. Filling the
+ * id table and remembering type checks are the only writes made by lookups;
+ * concurrent lookups on a snapshot may race on them, but only ever store
+ * entries and types that are valid for the snapshot, so a lost write just
+ * repeats the resolution.
+ * </p>
+ */
+final class ItemIndex {
+
+	private static final KeyEntry[] NO_ENTRIES = new KeyEntry[0];
+
+	private final Set<Slot> slots;
+	// The items of each key; entries are dropped once their last item is removed
+	private final Map<String, KeyEntry> entries;
+	// The entries of MetadataKeys by id, resolved on first lookup
+	private KeyEntry[] byId = NO_ENTRIES;
+	private final Collection<MetadataItem<?>> items = new ItemsView();
+	// Incremented on each modification
+	private long modCount;
+
+	ItemIndex() {
+		this.slots = new LinkedHashSet<>();
+		this.entries = new HashMap<>();
+	}
+
+	/** Creates a copy of {@code other}, which can be modified independently. */
+	ItemIndex(ItemIndex other) {
+		this.slots = new LinkedHashSet<>(2 * other.slots.size() + 2);
+		this.entries = new HashMap<>(2 * other.entries.size() + 2);
+		for (Slot slot : other.slots) {
+			add(slot.item);
+		}
+		// Carry over the resolved ids, so that typed lookups on the copy stay direct
+		final KeyEntry[] resolved = other.byId;
+		if (resolved.length > 0) {
+			this.byId = new KeyEntry[resolved.length];
+			for (int id = 0; id < resolved.length; id++) {
+				if (resolved[id] != null) {
+					byId[id] = entries.get(resolved[id].name);
+				}
+			}
+		}
+		this.modCount = other.modCount;
+	}
+
+	/** @return the number of modifications of this index (and the index it was copied from) */
+	long modCount() {
+		return modCount;
+	}
+
+	/** @return an unmodifiable view of all items, in insertion order */
+	Collection<MetadataItem<?>> items() {
+		return items;
+	}
+
+	/**
+	 * Finds the first item added with key {@code name}, attached to exactly the
+	 * axes {@code dims}, whose {@link MetadataItem#valueClass() values} are
+	 * instances of {@code ofType}.
+	 *
+	 * @return the matching item, or {@code null} if there is none
+	 */
+	<T> MetadataItem<T> find(String name, Class<T> ofType, int... dims) {
+		final KeyEntry entry = entries.get(name);
+		return entry == null ? null : find(entry, ofType, dims);
+	}
+
+	/**
+	 * Finds the first item added with key {@code key}, attached to exactly the
+	 * axes {@code dims}, through the id of {@code key}.
+	 *
+	 * @return the matching item, or {@code null} if there is none
+	 */
+	<T> MetadataItem<T> find(MetadataKey<T> key, int... dims) {
+		final int id = key.id();
+		if (id < 0) {
+			return find(key.name(), key.type(), dims);
+		}
+		KeyEntry[] table = byId;
+		KeyEntry entry = id < table.length ? table[id] : null;
+		if (entry == null || entry.detached) {
+			entry = entries.get(key.name());
+			if (entry == null) {
+				return null;
+			}
+			if (id >= table.length) {
+				table = Arrays.copyOf(table, Math.max(id + 1, 2 * table.length));
+				byId = table;
+			}
+			table[id] = entry;
+		}
+		return find(entry, key.type(), dims);
+	}
+
+	private <T> MetadataItem<T> find(KeyEntry entry, Class<T> ofType, int[] dims) {
+		final long mask = maskOf(dims);
+		if (mask != Metadata.NO_AXIS_MASK && Long.bitCount(mask) != dims.length) {
+			return null;
+		}
+		final List<Slot> bucket = entry.bucket(mask);
+		if (bucket != null) {
+			for (int i = 0; i < bucket.size(); i++) {
+				final Slot slot = bucket.get(i);
+				if (mask == Metadata.NO_AXIS_MASK && !slot.item.isAttachedTo(dims)) {
+					continue;
+				}
+				if (ofType == null || slot.isOfType(ofType)) {
+					//noinspection unchecked
+					return (MetadataItem<T>) slot.item;
+				}
+			}
+		}
+		return null;
+	}
+
+	void add(MetadataItem<?> item) {
+		modCount++;
+		Slot slot = new Slot(item);
+		slots.add(slot);
+		KeyEntry entry = entries.get(item.name());
+		if (entry == null) {
+			entry = new KeyEntry(item.name());
+			entries.put(item.name(), entry);
+		}
+		entry.createBucket(slot.mask).add(slot);
+	}
+
+	/**
+	 * Replaces all items sharing the key and attached axes of {@code item} with
+	 * {@code item}. If there are any, {@code item} takes the position of the
+	 * first one; otherwise, it is added.
+	 */
+	void put(MetadataItem<?> item) {
+		final long mask = item.attachedAxesMask();
+		final int[] axes = mask == Metadata.NO_AXIS_MASK ? item.attachedAxes() : null;
+		final KeyEntry entry = entries.get(item.name());
+		final List<Slot> bucket = entry == null ? null : entry.bucket(mask);
+		Slot first = null;
+		if (bucket != null) {
+			for (Iterator<Slot> itr = bucket.iterator(); itr.hasNext();) {
+				final Slot slot = itr.next();
+				if (axes != null && !slot.item.isAttachedTo(axes)) {
+					continue;
+				}
+				if (first == null) {
+					first = slot;
+				}
+				else {
+					itr.remove();
+					slots.remove(slot);
+				}
+			}
+		}
+		if (first == null) {
+			add(item);
+			return;
+		}
+		modCount++;
+		first.set(item);
+	}
+
+	/**
+	 * Removes all items with key {@code name} attached to exactly the axes
+	 * {@code dims}.
+	 *
+	 * @return {@code true} iff any item was removed
+	 */
+	boolean remove(String name, int... dims) {
+		final long mask = maskOf(dims);
+		if (mask != Metadata.NO_AXIS_MASK && Long.bitCount(mask) != dims.length) {
+			return false;
+		}
+		final KeyEntry entry = entries.get(name);
+		final List<Slot> bucket = entry == null ? null : entry.bucket(mask);
+		if (bucket == null) {
+			return false;
+		}
+		boolean removed = false;
+		for (Iterator<Slot> itr = bucket.iterator(); itr.hasNext();) {
+			final Slot slot = itr.next();
+			if (mask != Metadata.NO_AXIS_MASK || slot.item.isAttachedTo(dims)) {
+				itr.remove();
+				slots.remove(slot);
+				removed = true;
+			}
+		}
+		if (!removed) {
+			return false;
+		}
+		if (bucket.isEmpty()) {
+			entry.drop(mask);
+			if (entry.isEmpty()) {
+				entries.remove(name);
+				entry.detached = true;
+			}
+		}
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Computes the bitmask of {@code dims} like
+	 * {@link Metadata#axisMask(int...)}, but ignoring negative axes instead of
+	 * throwing. Callers detect those, and repeated axes, by comparing the bit
+	 * count of the mask against {@code dims.length}.
+	 */
+	private static long maskOf(int[] dims) {
+		long mask = 0L;
+		for (int dim : dims) {
+			if (dim >= Long.SIZE) {
+				return Metadata.NO_AXIS_MASK;
+			}
+			if (dim >= 0) {
+				mask |= 1L << dim;
+			}
+		}
+		return mask;
+	}
+
+	/** The items of one key, bucketed by the mask of their attached axes. */
+	private static final class KeyEntry {
+
+		final String name;
+		// Bucket i holds the slots attached to the axes of masks[i]
+		private long[] masks = new long[1];
+		private List<Slot>[] buckets = newBuckets(1);
+		private int size;
+		// Set once this entry is dropped from its index, so that ids resolved to it are resolved again
+		boolean detached;
+
+		KeyEntry(String name) {
+			this.name = name;
+		}
+
+		List<Slot> bucket(long mask) {
+			for (int i = 0; i < size; i++) {
+				if (masks[i] == mask) {
+					return buckets[i];
+				}
+			}
+			return null;
+		}
+
+		List<Slot> createBucket(long mask) {
+			final List<Slot> existing = bucket(mask);
+			if (existing != null) {
+				return existing;
+			}
+			if (size == masks.length) {
+				masks = Arrays.copyOf(masks, 2 * size);
+				buckets = Arrays.copyOf(buckets, 2 * size);
+			}
+			masks[size] = mask;
+			buckets[size] = new ArrayList<>(1);
+			return buckets[size++];
+		}
+
+		/** Drops the bucket of {@code mask}, moving the last bucket into its place. */
+		void drop(long mask) {
+			for (int i = 0; i < size; i++) {
+				if (masks[i] == mask) {
+					size--;
+					masks[i] = masks[size];
+					buckets[i] = buckets[size];
+					buckets[size] = null;
+					return;
+				}
+			}
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static List<Slot>[] newBuckets(int capacity) {
+			return new List[capacity];
+		}
+	}
+
+	/** A position in insertion order, occupied by one item at a time. */
+	private static final class Slot {
+
+		private MetadataItem<?> item;
+		private long mask;
+		// The last type the item was found to be of, skipping repeated type checks
+		private Class<?> verifiedType;
+
+		Slot(MetadataItem<?> item) {
+			set(item);
+		}
+
+		void set(MetadataItem<?> item) {
+			this.item = item;
+			this.mask = item.attachedAxesMask();
+			this.verifiedType = null;
+		}
+
+		boolean isOfType(Class<?> type) {
+			if (type == verifiedType) {
+				return true;
+			}
+			if (item.isOfType(type)) {
+				verifiedType = type;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	private final class ItemsView extends AbstractCollection<MetadataItem<?>> {
+
+		@Override
+		public Iterator<MetadataItem<?>> iterator() {
+			final Iterator<Slot> itr = slots.iterator();
+			return new Iterator<MetadataItem<?>>() {
+
+				@Override
+				public boolean hasNext() {
+					return itr.hasNext();
+				}
+
+				@Override
+				public MetadataItem<?> next() {
+					return itr.next().item;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return slots.size();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The arguments of one {@link MetadataStore#item(String, Class, int...)} call,
+ * for stores and views that cache lookup results by them.
+ * <p>
+ * The axes are not copied; callers must not modify them while the lookup is
+ * in use, e.g. by copying them before storing a lookup as a key.
+ * </p>
+ */
+public final class ItemLookup {
+
+	private final String name;
+	private final Class<?> type;
+	private final int[] dims;
+	private final int hash;
+
+	/**
+	 * @param name the key of the requested item
+	 * @param type the requested value type
+	 * @param dims the requested axes
+	 */
+	public ItemLookup(String name, Class<?> type, int[] dims) {
+		this.name = name;
+		this.type = type;
+		this.dims = dims;
+		this.hash = 31 * (31 * name.hashCode() + Objects.hashCode(type)) + Arrays.hashCode(dims);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof ItemLookup)) return false;
+		final ItemLookup other = (ItemLookup) o;
+		return hash == other.hash && type == other.type && name.equals(other.name) && Arrays.equals(dims, other.dims);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+}
@@ -0,0 +1,89 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Interval;
+import net.imglib2.Localizable;
+import net.imglib2.type.numeric.integer.LongType;
+
+/**
+ * A {@link MetadataItem} of {@code long} values, such as per-plane sizes or counts.
+ * <p>
+ * In addition to the {@link LongType} values of any {@link MetadataItem}, these
+ * items provide unboxed accessors, which read values without allocation and
+ * are thus suited to tight loops.
+ * </p>
+ *
+ * @see Metadata#constantLong(String, long, int, int...)
+ * @see Metadata#varyingLong(String, long[], long[], int, int[], int...)
+ */
+public interface LongMetadataItem extends MetadataItem<LongType> {
+
+	/**
+	 * Returns the value of the metadata at position {@code pos}.
+	 *
+	 * @param pos a position in the {@code n}-dimensional metadata space.
+	 * @return the value at {@code pos}.
+	 */
+	long getLong(long... pos);
+
+	/**
+	 * Returns the value of the metadata at position {@code pos}.
+	 *
+	 * @param pos a position in the {@code n}-dimensional metadata space.
+	 * @return the value at {@code pos}.
+	 */
+	long getLong(Localizable pos);
+
+	/**
+	 * Returns the value of the metadata at an <em>arbitrary</em> position.
+	 * Convenient for constant metadata.
+	 *
+	 * @return the value of the metadata at an arbitrary position.
+	 * @see #value()
+	 */
+	default long longValue() {
+		return getLong(new long[numDimensions()]);
+	}
+
+	/**
+	 * Extracts the values at each position of {@code region} into a {@code long[]}, in one pass.
+	 *
+	 * @param region the positions to extract, along the varying axes (see {@link #forEachVarying}).
+	 * @return the values, in flat iteration order of {@code region}.
+	 */
+	default long[] toLongArray(Interval region) {
+		return toLongArray(region, LongType::get);
+	}
+}
@@ -34,18 +34,28 @@
 package net.imglib2.meta;
 
 import net.imglib2.*;
+import net.imglib2.img.array.ArrayImgFactory;
+import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.meta.attribution.Attribution;
 import net.imglib2.meta.calibration.Calibration;
 import net.imglib2.meta.channels.Channels;
 import net.imglib2.meta.general.General;
 import net.imglib2.transform.integer.Mixed;
 import net.imglib2.transform.integer.MixedTransform;
-import net.imglib2.util.ConstantUtils;
+import net.imglib2.type.NativeType;
+import net.imglib2.type.numeric.RealType;
+import net.imglib2.type.numeric.integer.IntType;
+import net.imglib2.type.numeric.integer.LongType;
+import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.util.Intervals;
 import net.imglib2.view.MixedTransformView;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -56,6 +66,15 @@ import java.util.function.Supplier;
  */
 public final class Metadata {
 
+	/** Maximum number of distinct absent items interned per key. */
+	private static final int MAX_ABSENT_PER_KEY = 64;
+
+	/** Maximum number of keys whose absent items are interned. */
+	private static final int MAX_ABSENT_KEYS = 1024;
+
+	/** Interned absent items, by key. */
+	private static final ConcurrentHashMap<String, AbsentMetadataItem<?>[]> ABSENT = new ConcurrentHashMap<>();
+
     /*
      * Prevent instantiation of utility class.
      */
@@ -91,9 +110,25 @@ public final class Metadata {
 	 * @param <T> the type of {@code data}
 	 */
 	public static <T> MetadataItem<T> constant(String key, T data, int numDims, int... attachedAxes) {
-		return new ConstantItem<>(key, data, numDims, attachedAxes);
+		return new ConstantItem<>(key, null, data, numDims, attachedAxes);
 	}
 
+    /**
+     * Creates a {@link MetadataItem} that is constant across the metadata space, whose values are declared to be of
+     * the type of {@code key}.
+     *
+     * @param key the typed key associated with the item
+     * @param data the metadata value associated with the item. Constant across the metadata space.
+     * @param numDims the number of dimensions in which this item lives
+     * @param attachedAxes the dimension indices to which this item is attached.
+     * @return a {@link MetadataItem} wrapping {@code data}
+     * @param <T> the type of {@code data}
+     * @see #constant(String, Object, int, int...)
+     */
+    public static <T> MetadataItem<T> constant(MetadataKey<T> key, T data, int numDims, int... attachedAxes) {
+        return new ConstantItem<>(key.name(), key.type(), data, numDims, attachedAxes);
+    }
+
     /**
      * Creates an {@code n}-dimensional {@link MetadataItem} from an {@code m}-dimensional {@link RandomAccessible},
      * where the metadata varies along specific axes of the dataset ({@code n} &ge; {@code m}).
@@ -126,9 +161,31 @@ public final class Metadata {
      * @return an {@code n}-dimensional {@link MetadataItem} that varies along the specified axes
      */
 	public static <T, U extends RandomAccessible<T>> MetadataItem<T> varying(String key, U data, int n, int[] varyingAxes, int... attachedAxes) {
-		return new VaryingItem<>(key, data, n, varyingAxes, attachedAxes);
+		return new VaryingItem<>(key, null, data, n, varyingAxes, attachedAxes);
 	}
 
+    /**
+     * Creates an {@code n}-dimensional {@link MetadataItem} from an {@code m}-dimensional {@link RandomAccessible},
+     * whose values are declared to be of the type of {@code key}.
+     * <p>
+     * Unlike {@link #varying(String, RandomAccessible, int, int[], int...)}, {@code data} is never evaluated to
+     * determine the type of the returned item.
+     * </p>
+     *
+     * @param key the typed key identifying this metadata
+     * @param data an {@code m}-dimensional {@link RandomAccessible} containing the metadata values
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxes indices of dataset axes that map to {@code data}'s dimensions (length = {@code m})
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @param <T> the type of metadata values
+     * @param <U> the type of the data {@link RandomAccessible}
+     * @return an {@code n}-dimensional {@link MetadataItem} that varies along the specified axes
+     * @see #varying(String, RandomAccessible, int, int[], int...)
+     */
+    public static <T, U extends RandomAccessible<T>> MetadataItem<T> varying(MetadataKey<T> key, U data, int n, int[] varyingAxes, int... attachedAxes) {
+        return new VaryingItem<>(key.name(), key.type(), data, n, varyingAxes, attachedAxes);
+    }
+
     /**
      * Creates an {@code n}-dimensional {@link MetadataItem} from an {@code m}-dimensional {@link RandomAccessible}
      * with support for updating metadata values ({@code n} &ge; {@code m}).
@@ -141,7 +198,8 @@ public final class Metadata {
      * @param key the {@link String} key identifying this metadata
      * @param data an {@code m}-dimensional {@link RandomAccessible} containing the metadata values
      * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
-     * @param setter a {@link BiConsumer} that updates values in {@code data} at specific positions
+     * @param setter a {@link BiConsumer} that updates values in {@code data} at specific positions, given in the
+     *               coordinates of {@code data}
      * @param varyingAxes indices of dataset axes that map to {@code data}'s dimensions (length = {@code m})
      * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
      * @param <T> the type of metadata values
@@ -150,15 +208,348 @@ public final class Metadata {
      * @see #varying(String, RandomAccessible, int, int[], int...)
      */
     public static <T, U extends RandomAccessible<T>> MetadataItem<T> varying(String key, U data, int n, BiConsumer<Localizable, T> setter, int[] varyingAxes, int... attachedAxes) {
-        return new VaryingItem<>(key, data, setter, n, varyingAxes, attachedAxes);
+        return new VaryingItem<>(key, null, data, setter, n, varyingAxes, attachedAxes);
+    }
+
+    /**
+     * Creates an {@code n}-dimensional, updatable {@link MetadataItem} from an {@code m}-dimensional
+     * {@link RandomAccessible}, whose values are declared to be of the type of {@code key}.
+     *
+     * @param key the typed key identifying this metadata
+     * @param data an {@code m}-dimensional {@link RandomAccessible} containing the metadata values
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param setter a {@link BiConsumer} that updates values in {@code data} at specific positions, given in the
+     *               coordinates of {@code data}
+     * @param varyingAxes indices of dataset axes that map to {@code data}'s dimensions (length = {@code m})
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @param <T> the type of metadata values
+     * @param <U> the type of the data {@link RandomAccessible}
+     * @return an {@code n}-dimensional {@link MetadataItem} that varies along the specified axes
+     * @see #varying(String, RandomAccessible, int, BiConsumer, int[], int...)
+     */
+    public static <T, U extends RandomAccessible<T>> MetadataItem<T> varying(MetadataKey<T> key, U data, int n, BiConsumer<Localizable, T> setter, int[] varyingAxes, int... attachedAxes) {
+        return new VaryingItem<>(key.name(), key.type(), data, setter, n, varyingAxes, attachedAxes);
+    }
+
+    /**
+     * Creates a writable {@link MetadataItem} varying along axes {@code varyingAxes}, whose values are held in a
+     * dense {@link net.imglib2.img.array.ArrayImg}.
+     * <p>
+     * The storage spans {@code interval} along each of {@code varyingAxes}, and is initialized with copies of
+     * {@code type}. {@link MetadataItem#setAt(Object, Localizable)} et. al write values into the storage in place, so
+     * no setter function is needed.
+     * </p>
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param type the type of metadata values, and their initial value
+     * @param interval the {@code n}-dimensional interval of the dataset, defining the extent of the storage
+     * @param varyingAxes indices of dataset axes along which the metadata varies
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @param <T> the type of metadata values
+     * @return an {@code n}-dimensional, writable {@link MetadataItem} that varies along the specified axes
+     * @see #denseObjects(String, Class, Interval, int[], int...)
+     */
+    public static <T extends NativeType<T>> MetadataItem<T> dense(String key, T type, Interval interval, int[] varyingAxes, int... attachedAxes) {
+        final RandomAccessible<T> data = new ArrayImgFactory<>(type).create(denseDimensions(interval, varyingAxes));
+        return new DenseItem<>(key, type.getClass(), data, denseTransform(interval, varyingAxes), (access, value) -> access.get().set(value), attachedAxes);
+    }
+
+    /**
+     * Creates a writable {@link MetadataItem} varying along axes {@code varyingAxes}, whose values are objects held in
+     * a dense array.
+     * <p>
+     * This is the equivalent of {@link #dense(String, NativeType, Interval, int[], int...)} for metadata that is not
+     * of a {@link NativeType}. The storage is initially filled with {@code null}.
+     * </p>
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param type the class of metadata values
+     * @param interval the {@code n}-dimensional interval of the dataset, defining the extent of the storage
+     * @param varyingAxes indices of dataset axes along which the metadata varies
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @param <T> the type of metadata values
+     * @return an {@code n}-dimensional, writable {@link MetadataItem} that varies along the specified axes
+     */
+    public static <T> MetadataItem<T> denseObjects(String key, Class<T> type, Interval interval, int[] varyingAxes, int... attachedAxes) {
+        final DenseObjects<T> data = new DenseObjects<>(denseDimensions(interval, varyingAxes));
+        return new DenseItem<>(key, type, data, denseTransform(interval, varyingAxes), (access, value) -> ((DenseObjects<T>.Access) access).set(value), attachedAxes);
+    }
+
+    /**
+     * Creates a writable {@link SparseMetadataItem} varying along axis {@code varyingAxis}, which initially has no
+     * values of its own, reporting {@code defaultValue} everywhere.
+     * <p>
+     * Values are kept in sorted primitive arrays, keyed by their position along {@code varyingAxis}: lookups cost a
+     * binary search, and writes in increasing position order are appended. The item is not thread-safe.
+     * </p>
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param type the class of metadata values
+     * @param defaultValue the value at positions without a value of their own; may be {@code null}
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxis the index of the dataset axis along which the metadata varies
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @param <T> the type of metadata values
+     * @return an {@code n}-dimensional, writable {@link SparseMetadataItem}
+     */
+    public static <T> SparseMetadataItem<T> sparse(String key, Class<T> type, T defaultValue, int n, int varyingAxis, int... attachedAxes) {
+        return new SparseItem<>(key, type, defaultValue, n, varyingAxis, attachedAxes);
+    }
+
+    /**
+     * Creates a writable, initially empty {@link RunLengthMetadataItem} varying along axis {@code varyingAxis}.
+     * <p>
+     * Values are stored as runs of equal values, in sorted primitive arrays: random access costs a binary search
+     * over the runs, while the {@link net.imglib2.RandomAccess}es of the item remember their current run, making
+     * sequential access along {@code varyingAxis} constant time. Positions are added in bulk through
+     * {@link RunLengthMetadataItem#append(Object, long)}; {@link MetadataItem#setAt(Object, long...)} et. al may
+     * overwrite single positions, or append one position at the end. The item is not thread-safe.
+     * </p>
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param type the class of metadata values
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxis the index of the dataset axis along which the metadata varies
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @param <T> the type of metadata values
+     * @return an {@code n}-dimensional, writable {@link RunLengthMetadataItem}
+     */
+    public static <T> RunLengthMetadataItem<T> runLength(String key, Class<T> type, int n, int varyingAxis, int... attachedAxes) {
+        return new RunLengthItem<>(key, type, n, varyingAxis, attachedAxes);
+    }
+
+    /**
+     * Creates an {@link AnalyticMetadataItem} whose value at position {@code x} along {@code varyingAxis} is
+     * {@code offset + scale * x}, e.g. timestamps of frames acquired at a fixed rate.
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param offset the value at position {@code 0}
+     * @param scale the change in value per position
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxis the index of the dataset axis along which the metadata varies
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @return an {@code n}-dimensional {@link AnalyticMetadataItem}
+     */
+    public static AnalyticMetadataItem affine(String key, double offset, double scale, int n, int varyingAxis, int... attachedAxes) {
+        return new PolynomialItem(key, new double[] {offset, scale}, n, varyingAxis, attachedAxes);
+    }
+
+    /**
+     * Creates an {@link AnalyticMetadataItem} whose value at position {@code x} along {@code varyingAxis} is
+     * {@code coefficients[0] + coefficients[1] * x + coefficients[2] * x^2 + ...}.
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param coefficients the polynomial coefficients, in order of increasing degree
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxis the index of the dataset axis along which the metadata varies
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @return an {@code n}-dimensional {@link AnalyticMetadataItem}
+     */
+    public static AnalyticMetadataItem polynomial(String key, double[] coefficients, int n, int varyingAxis, int... attachedAxes) {
+        if (coefficients.length == 0) {
+            throw new IllegalArgumentException("A polynomial needs at least one coefficient");
+        }
+        return new PolynomialItem(key, coefficients.clone(), n, varyingAxis, attachedAxes);
+    }
+
+    /**
+     * Creates an {@link AnalyticMetadataItem} interpolating linearly between {@code values} at {@code positions}
+     * along {@code varyingAxis}, e.g. z-positions of a stage moved at varying speed. Beyond the first and last
+     * position, the first and last segment are extrapolated.
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param positions the positions of known values along {@code varyingAxis}, in strictly increasing order
+     * @param values the known values, one per position
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxis the index of the dataset axis along which the metadata varies
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @return an {@code n}-dimensional {@link AnalyticMetadataItem}
+     */
+    public static AnalyticMetadataItem piecewiseLinear(String key, double[] positions, double[] values, int n, int varyingAxis, int... attachedAxes) {
+        if (positions.length == 0 || positions.length != values.length) {
+            throw new IllegalArgumentException("Expected the same, positive number of positions and values, got " + positions.length + " and " + values.length);
+        }
+        for (int i = 1; i < positions.length; i++) {
+            if (!(positions[i - 1] < positions[i])) {
+                throw new IllegalArgumentException("Positions are not strictly increasing: " + Arrays.toString(positions));
+            }
+        }
+        return new PiecewiseLinearItem(key, positions.clone(), values.clone(), n, varyingAxis, attachedAxes);
+    }
+
+    /**
+     * Wraps {@code item} in a {@link CachedMetadataItem}, remembering up to {@code maxSize} of its most recently
+     * used values. Useful for items that are expensive to evaluate, e.g. items reading values from a file.
+     *
+     * @param item the {@link MetadataItem} whose values should be cached
+     * @param maxSize the maximum number of values to remember
+     * @return a {@link CachedMetadataItem} of {@code item}
+     * @param <T> the type of {@code item}'s values
+     */
+    public static <T> CachedMetadataItem<T> cached(MetadataItem<T> item, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive, got " + maxSize);
+        }
+        return new CachedItem<>(item, maxSize);
+    }
+
+    /**
+     * Creates a {@link RealMetadataItem}, providing the values of a numeric {@code item} at real coordinates.
+     * {@link AnalyticMetadataItem}s are evaluated in closed form when interpolated linearly.
+     *
+     * @param item the numeric {@link MetadataItem} to interpolate
+     * @param interpolation how values between integer positions are computed
+     * @return a {@link RealMetadataItem} interpolating {@code item}
+     */
+    public static RealMetadataItem interpolate(MetadataItem<? extends RealType<?>> item, RealMetadataItem.Interpolation interpolation) {
+        if (!item.isPresent()) {
+            throw new NoSuchElementException("Cannot interpolate absent metadata \"" + item.name() + "\"");
+        }
+        return new InterpolatedItem(item, interpolation);
+    }
+
+    private static long[] denseDimensions(Interval interval, int[] varyingAxes) {
+        final long[] dims = new long[varyingAxes.length];
+        for (int i = 0; i < dims.length; i++) {
+            dims[i] = interval.dimension(varyingAxes[i]);
+        }
+        return dims;
+    }
+
+    private static Mixed denseTransform(Interval interval, int[] varyingAxes) {
+        // Map dataset positions onto the storage, which starts at the interval's min
+        final MixedTransform transform = new MixedTransform(interval.numDimensions(), varyingAxes.length);
+        transform.setComponentMapping(varyingAxes);
+        final long[] translation = new long[varyingAxes.length];
+        for (int i = 0; i < translation.length; i++) {
+            translation[i] = -interval.min(varyingAxes[i]);
+        }
+        transform.setTranslation(translation);
+        return transform;
+    }
+
+    /**
+     * Creates a {@link DoubleMetadataItem} that is constant across the metadata space.
+     *
+     * @param key the {@link String} key associated with the item
+     * @param value the metadata value associated with the item. Constant across the metadata space.
+     * @param numDims the number of dimensions in which this item lives
+     * @param attachedAxes the dimension indices to which this item is attached.
+     * @return a {@link DoubleMetadataItem} wrapping {@code value}
+     * @see #constant(String, Object, int, int...)
+     */
+    public static DoubleMetadataItem constantDouble(String key, double value, int numDims, int... attachedAxes) {
+        return new ConstantDoubleItem(key, value, numDims, attachedAxes);
+    }
+
+    /**
+     * Creates an {@code n}-dimensional {@link DoubleMetadataItem} backed by a {@code double[]}, which holds an
+     * {@code m}-dimensional array of values in flat iteration order ({@code n} &ge; {@code m}).
+     * <p>
+     * The returned item reads and writes {@code data} directly; see
+     * {@link #varying(String, RandomAccessible, int, int[], int...)} for the meaning of the axes.
+     * </p>
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param data the metadata values
+     * @param dims the dimensions of {@code data} (length = {@code m})
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxes indices of dataset axes that map to {@code data}'s dimensions (length = {@code m})
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @return an {@code n}-dimensional {@link DoubleMetadataItem} that varies along the specified axes
+     * @throws IllegalArgumentException if {@code dims} does not match {@code data} or {@code varyingAxes}
+     */
+    public static DoubleMetadataItem varyingDouble(String key, double[] data, long[] dims, int n, int[] varyingAxes, int... attachedAxes) {
+        final ArrayIndex index = new ArrayIndex(data.length, dims, varyingAxes);
+        final RandomAccessible<DoubleType> img = ArrayImgs.doubles(data, dims);
+        return new VaryingDoubleItem(key, data, index, img, n, varyingAxes, attachedAxes);
+    }
+
+    /**
+     * Creates a {@link LongMetadataItem} that is constant across the metadata space.
+     *
+     * @param key the {@link String} key associated with the item
+     * @param value the metadata value associated with the item. Constant across the metadata space.
+     * @param numDims the number of dimensions in which this item lives
+     * @param attachedAxes the dimension indices to which this item is attached.
+     * @return a {@link LongMetadataItem} wrapping {@code value}
+     * @see #constant(String, Object, int, int...)
+     */
+    public static LongMetadataItem constantLong(String key, long value, int numDims, int... attachedAxes) {
+        return new ConstantLongItem(key, value, numDims, attachedAxes);
+    }
+
+    /**
+     * Creates an {@code n}-dimensional {@link LongMetadataItem} backed by a {@code long[]}, which holds an
+     * {@code m}-dimensional array of values in flat iteration order ({@code n} &ge; {@code m}).
+     * <p>
+     * The returned item reads and writes {@code data} directly; see
+     * {@link #varying(String, RandomAccessible, int, int[], int...)} for the meaning of the axes.
+     * </p>
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param data the metadata values
+     * @param dims the dimensions of {@code data} (length = {@code m})
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxes indices of dataset axes that map to {@code data}'s dimensions (length = {@code m})
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @return an {@code n}-dimensional {@link LongMetadataItem} that varies along the specified axes
+     * @throws IllegalArgumentException if {@code dims} does not match {@code data} or {@code varyingAxes}
+     */
+    public static LongMetadataItem varyingLong(String key, long[] data, long[] dims, int n, int[] varyingAxes, int... attachedAxes) {
+        final ArrayIndex index = new ArrayIndex(data.length, dims, varyingAxes);
+        final RandomAccessible<LongType> img = ArrayImgs.longs(data, dims);
+        return new VaryingLongItem(key, data, index, img, n, varyingAxes, attachedAxes);
+    }
+
+    /**
+     * Creates a {@link IntMetadataItem} that is constant across the metadata space.
+     *
+     * @param key the {@link String} key associated with the item
+     * @param value the metadata value associated with the item. Constant across the metadata space.
+     * @param numDims the number of dimensions in which this item lives
+     * @param attachedAxes the dimension indices to which this item is attached.
+     * @return a {@link IntMetadataItem} wrapping {@code value}
+     * @see #constant(String, Object, int, int...)
+     */
+    public static IntMetadataItem constantInt(String key, int value, int numDims, int... attachedAxes) {
+        return new ConstantIntItem(key, value, numDims, attachedAxes);
+    }
+
+    /**
+     * Creates an {@code n}-dimensional {@link IntMetadataItem} backed by a {@code int[]}, which holds an
+     * {@code m}-dimensional array of values in flat iteration order ({@code n} &ge; {@code m}).
+     * <p>
+     * The returned item reads and writes {@code data} directly; see
+     * {@link #varying(String, RandomAccessible, int, int[], int...)} for the meaning of the axes.
+     * </p>
+     *
+     * @param key the {@link String} key identifying this metadata
+     * @param data the metadata values
+     * @param dims the dimensions of {@code data} (length = {@code m})
+     * @param n the dimensionality of the dataset (and returned {@link MetadataItem})
+     * @param varyingAxes indices of dataset axes that map to {@code data}'s dimensions (length = {@code m})
+     * @param attachedAxes indices of dataset axes this metadata pertains to (0 &le; attachedAxes[i] &lt; {@code n})
+     * @return an {@code n}-dimensional {@link IntMetadataItem} that varies along the specified axes
+     * @throws IllegalArgumentException if {@code dims} does not match {@code data} or {@code varyingAxes}
+     */
+    public static IntMetadataItem varyingInt(String key, int[] data, long[] dims, int n, int[] varyingAxes, int... attachedAxes) {
+        final ArrayIndex index = new ArrayIndex(data.length, dims, varyingAxes);
+        final RandomAccessible<IntType> img = ArrayImgs.ints(data, dims);
+        return new VaryingIntItem(key, data, index, img, n, varyingAxes, attachedAxes);
     }
 
     /**
      * Creates a {@link MetadataItem} to return in the absence of the requested {@link MetadataItem}.
      * <p>
      * To signify that no metadata exists for the given key and axes, the returned {@link MetadataItem}'s
-     * {@code get()} methods will throw a {@link NoSuchElementException} when called, and their {@code or()}
-     * methods will return the provided default value.
+     * {@code get()} methods will throw a {@link NoSuchElementException} when called, its {@code or()}
+     * methods will return the provided default value, and {@link MetadataItem#isPresent()} returns {@code false}.
+     * </p>
+     * <p>
+     * Absent items are immutable, and are interned: repeated requests for the same key, dimensionality and axes
+     * return the same instance without allocating. To bound memory use, only the first keys requested are interned;
+     * absent items of any further keys are allocated on each request.
      * </p>
      * @param name the {@link String} key requested
      * @param numDimensions the number of dimensions in which this item lives
@@ -166,22 +557,169 @@ public final class Metadata {
      * @return an {@code n}-dimensional {@link MetadataItem} that varies along the specified axes
      * @param <T> the type of metadata values
      */
+    @SuppressWarnings("unchecked")
     public static <T> MetadataItem<T> absent(String name, int numDimensions, int... attachedAxes) {
-        return new AbsentMetadataItem<>(name, numDimensions, attachedAxes);
+        final AbsentMetadataItem<?>[] known = ABSENT.get(name);
+        AbsentMetadataItem<?> item = findAbsent(known, numDimensions, attachedAxes);
+        if (item == null) {
+            if (known != null || ABSENT.size() < MAX_ABSENT_KEYS) {
+                AbsentMetadataItem<?>[] interned = ABSENT.compute(name, (k, current) -> internAbsent(current, name, numDimensions, attachedAxes));
+                item = findAbsent(interned, numDimensions, attachedAxes);
+            }
+            if (item == null) {
+                // Too many keys, or variants of this key, to intern them all
+                item = new AbsentMetadataItem<>(name, numDimensions, attachedAxes.clone());
+            }
+        }
+        return (MetadataItem<T>) item;
+    }
+
+    private static AbsentMetadataItem<?> findAbsent(AbsentMetadataItem<?>[] known, int numDimensions, int[] attachedAxes) {
+        if (known != null) {
+            for (AbsentMetadataItem<?> item : known) {
+                if (item.numDimensions == numDimensions && Arrays.equals(item.attachedAxes, attachedAxes)) {
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static AbsentMetadataItem<?>[] internAbsent(AbsentMetadataItem<?>[] known, String name, int numDimensions, int[] attachedAxes) {
+        if (known == null) {
+            return new AbsentMetadataItem<?>[] { new AbsentMetadataItem<>(name, numDimensions, attachedAxes.clone()) };
+        }
+        if (findAbsent(known, numDimensions, attachedAxes) != null || known.length >= MAX_ABSENT_PER_KEY) {
+            return known;
+        }
+        AbsentMetadataItem<?>[] updated = Arrays.copyOf(known, known.length + 1);
+        updated[known.length] = new AbsentMetadataItem<>(name, numDimensions, attachedAxes.clone());
+        return updated;
+    }
+
+    /**
+     * The axis mask of a set of axes that cannot be represented as a bitmask, as it includes an axis greater than
+     * {@code 63}. Code receiving this value must fall back to the {@code int[]} form of the axes.
+     * <p>
+     * The set of all axes {@code 0} to {@code 63} shares this value; falling back is correct for it, too. So do the
+     * axes of {@link #absent absent} items requested for negative axes.
+     * </p>
+     *
+     * @see #axisMask(int...)
+     */
+    public static final long NO_AXIS_MASK = -1L;
+
+    /**
+     * Encodes a set of axes as a bitmask, in which bit {@code d} is set iff axis {@code d} is in the set.
+     * <p>
+     * Axis masks allow comparing, intersecting and remapping sets of axes without allocation, but can only represent
+     * the axes {@code 0} to {@code 63}. Sets including a greater axis are encoded as {@link #NO_AXIS_MASK}.
+     * </p>
+     *
+     * @param axes the axes to encode
+     * @return the bitmask of {@code axes}, or {@link #NO_AXIS_MASK} if any of {@code axes} is greater than {@code 63}
+     * @throws IllegalArgumentException if any of {@code axes} is negative
+     * @see MetadataItem#attachedAxesMask()
+     */
+    public static long axisMask(int... axes) {
+        long mask = 0L;
+        for (int axis : axes) {
+            if (axis < 0) {
+                throw new IllegalArgumentException("Axis " + axis + " is negative!");
+            }
+            if (axis >= Long.SIZE) {
+                return NO_AXIS_MASK;
+            }
+            mask |= 1L << axis;
+        }
+        return mask;
+    }
+
+    /**
+     * Decodes a bitmask created by {@link #axisMask(int...)}.
+     * <p>
+     * {@link #NO_AXIS_MASK} decodes to the axes {@code 0} to {@code 63}; callers that may receive it must use the
+     * {@code int[]} form of the axes instead.
+     * </p>
+     *
+     * @param mask the bitmask to decode
+     * @return the axes whose bits are set in {@code mask}, in ascending order
+     */
+    public static int[] axes(long mask) {
+        final int[] axes = new int[Long.bitCount(mask)];
+        for (int i = 0; mask != 0; i++) {
+            axes[i] = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+        }
+        return axes;
+    }
+
+    /**
+     * Encodes {@code axes} like {@link #axisMask(int...)}, but as {@link #NO_AXIS_MASK} instead of throwing if any of
+     * them is negative. Lookups for negative axes yield absent items, which must be attached to them nonetheless.
+     */
+    private static long lenientAxisMask(int[] axes) {
+        for (int axis : axes) {
+            if (axis < 0) {
+                return NO_AXIS_MASK;
+            }
+        }
+        return axisMask(axes);
+    }
+
+    /**
+     * Tests whether two arrays list the same set of axes, regardless of order. This is the fallback for axis sets
+     * encoded as {@link #NO_AXIS_MASK}.
+     */
+    static boolean sameAxes(int[] axes, int[] others) {
+        if (axes.length != others.length) {
+            return false;
+        }
+        final int[] sorted = axes.clone();
+        final int[] otherSorted = others.clone();
+        Arrays.sort(sorted);
+        Arrays.sort(otherSorted);
+        return Arrays.equals(sorted, otherSorted);
+    }
+
+    /**
+     * Validates {@code region} for bulk extraction from {@code item}.
+     *
+     * @return the number of positions in {@code region}
+     * @see MetadataItem#forEachVarying(Interval, java.util.function.Consumer)
+     */
+    static int regionSize(MetadataItem<?> item, Interval region) {
+        final int numVarying = item.varyingAxes().length;
+        if (region.numDimensions() != numVarying) {
+            throw new IllegalArgumentException("Expected a region of " + numVarying + " dimensions (one per varying axis), got " + region.numDimensions());
+        }
+        final long size = Intervals.numElements(region);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Region of " + size + " positions exceeds the maximum array size");
+        }
+        return (int) size;
     }
 
     // -- Internal classes -- //
 
+    private static final int[] NO_AXES = new int[0];
+
     private static class AbsentMetadataItem<T> implements MetadataItem<T> {
 
         final String name;
         final int numDimensions;
         final int[] attachedAxes;
+        final long attachedMask;
 
         public AbsentMetadataItem(String name, int numDimensions, int... attachedAxes) {
             this.name = name;
             this.numDimensions = numDimensions;
             this.attachedAxes = attachedAxes;
+            this.attachedMask = lenientAxisMask(attachedAxes);
+        }
+
+        private NoSuchElementException noSuchElement() {
+            return new NoSuchElementException("No metadata exists of key " + name + " attached to axes " + Arrays.toString(attachedAxes) + "!");
         }
 
 
@@ -200,10 +738,31 @@ public final class Metadata {
             return attachedAxes;
         }
 
+        @Override
+        public long attachedAxesMask() {
+            return attachedMask;
+        }
+
         @Override
         public int[] varyingAxes() {
             // Absent metadata has no varying axes
-            return new int[0];
+            return NO_AXES;
+        }
+
+        @Override
+        public long varyingAxesMask() {
+            return 0L;
+        }
+
+        @Override
+        public Class<?> valueClass() {
+            // Absent metadata has no values
+            return null;
+        }
+
+        @Override
+        public boolean isPresent() {
+            return false;
         }
 
         @Override
@@ -218,17 +777,22 @@ public final class Metadata {
 
         @Override
         public T getAt(int... pos) {
-            return new AbsentRandomAccess().get();
+            throw noSuchElement();
         }
 
         @Override
         public T getAt(long... pos) {
-            return new AbsentRandomAccess().get();
+            throw noSuchElement();
         }
 
         @Override
         public T getAt(Localizable pos) {
-            return new AbsentRandomAccess().get();
+            throw noSuchElement();
+        }
+
+        @Override
+        public T value() {
+            throw noSuchElement();
         }
 
         @Override
@@ -244,7 +808,7 @@ public final class Metadata {
         class AbsentRandomAccess extends Point implements RandomAccess<T> {
             @Override
             public T get() {
-                throw new NoSuchElementException("No metadata exists of key " + name + " attached to axes " + Arrays.toString(attachedAxes) + "!");
+                throw noSuchElement();
             }
 
             @Override
@@ -255,18 +819,22 @@ public final class Metadata {
     }
 
 
-    private static class ConstantItem<T> implements MetadataItem<T> {
+    static class ConstantItem<T> implements MetadataItem<T> {
 		final String name;
+        final Class<?> declaredClass;
         T data;
 
         final int numDimensions;
         final int[] attachedAxes;
+        final long attachedMask;
 
-		public ConstantItem(final String name, final T data, final int numDimensions, final int... attachedAxes) {
+		public ConstantItem(final String name, final Class<?> declaredClass, final T data, final int numDimensions, final int... attachedAxes) {
 			this.name = name;
+			this.declaredClass = declaredClass;
 			this.data = data;
             this.numDimensions = numDimensions;
 			this.attachedAxes = attachedAxes;
+            this.attachedMask = axisMask(attachedAxes);
 		}
 
 		@Override
@@ -279,14 +847,44 @@ public final class Metadata {
 			return data;
 		}
 
+        @Override
+        public T getAt(long... position) {
+            return data;
+        }
+
+        @Override
+        public T getAt(int... position) {
+            return data;
+        }
+
+        @Override
+        public T value() {
+            return data;
+        }
+
+        @Override
+        public T valueOr(T defaultValue) {
+            return data;
+        }
+
+        @Override
+        public T getType() {
+            return data;
+        }
+
+        @Override
+        public void setValue(T value) {
+            data = value;
+        }
+
 		@Override
 		public RandomAccess<T> randomAccess() {
-			return ConstantUtils.constantRandomAccessible(data, numDimensions()).randomAccess();
+			return new ConstantRandomAccess();
 		}
 
 		@Override
 		public RandomAccess<T> randomAccess(Interval interval) {
-			return ConstantUtils.constantRandomAccessible(data, numDimensions()).randomAccess(interval);
+			return randomAccess();
 		}
 
 		@Override
@@ -334,10 +932,51 @@ public final class Metadata {
             return attachedAxes;
         }
 
+        @Override
+        public long attachedAxesMask() {
+            return attachedMask;
+        }
+
         @Override
         public int[] varyingAxes() {
             // Simple metadata is constant, so has no varying axes
-            return new int[0];
+            return NO_AXES;
+        }
+
+        @Override
+        public long varyingAxesMask() {
+            return 0L;
+        }
+
+        @Override
+        public Class<?> valueClass() {
+            if (declaredClass != null) {
+                return declaredClass;
+            }
+            final T value = data;
+            return value == null ? null : value.getClass();
+        }
+
+        /**
+         * Reads the item's current value, so that accesses remain valid across {@link #setValue}.
+         */
+        class ConstantRandomAccess extends Point implements RandomAccess<T> {
+
+            ConstantRandomAccess() {
+                super(numDimensions);
+            }
+
+            @Override
+            public T get() {
+                return data;
+            }
+
+            @Override
+            public RandomAccess<T> copy() {
+                ConstantRandomAccess copy = new ConstantRandomAccess();
+                copy.setPosition(this);
+                return copy;
+            }
         }
     }
 
@@ -347,31 +986,43 @@ public final class Metadata {
 		return transform;
 	}
 
-	private static class VaryingItem<T, F extends RandomAccessible<T>> extends MixedTransformView<T> implements MetadataItem<T> {
+	static class VaryingItem<T, F extends RandomAccessible<T>> extends MixedTransformView<T> implements MetadataItem<T> {
 		final String name;
 		final F data;
-        final ThreadLocal<Point> pointCache = ThreadLocal.withInitial(() -> new Point(numDimensions()));
+        final Class<?> declaredClass;
+        // The class of the first value, when none was declared
+        private volatile Class<?> inferredClass;
         final BiConsumer<Localizable, T> setter;
         final int[] attachedAxes;
+        final long attachedMask;
+        final int[] varyingAxes;
+        final long varyingMask;
 
-		public VaryingItem(final String name, final F data, final int numDimensions, final int[] varyingAxes, final int... attachedAxes) {
-			this(name, data, transformFromAttachedAxes(numDimensions, varyingAxes), attachedAxes);
+		public VaryingItem(final String name, final Class<?> declaredClass, final F data, final int numDimensions, final int[] varyingAxes, final int... attachedAxes) {
+			this(name, declaredClass, data, transformFromAttachedAxes(numDimensions, varyingAxes), attachedAxes);
 		}
 
-        private VaryingItem(final String name, final F data, BiConsumer<Localizable, T> setter, final int numDimensions, final int[] varyingAxes, final int... attachedAxes) {
-            this(name, data, transformFromAttachedAxes(numDimensions, varyingAxes), setter, attachedAxes);
+        VaryingItem(final String name, final Class<?> declaredClass, final F data, BiConsumer<Localizable, T> setter, final int numDimensions, final int[] varyingAxes, final int... attachedAxes) {
+            this(name, declaredClass, data, transformFromAttachedAxes(numDimensions, varyingAxes), setter, attachedAxes);
         }
 
-		private VaryingItem(final String name, final F data, final Mixed tform, final int... attachedAxes) {
-            this(name, data, tform, (pos, val) -> {}, attachedAxes);
+		VaryingItem(final String name, final Class<?> declaredClass, final F data, final Mixed tform, final int... attachedAxes) {
+            this(name, declaredClass, data, tform, (pos, val) -> {
+                throw new UnsupportedOperationException("This MetadataItem is read-only!");
+            }, attachedAxes);
 		}
 
-        private VaryingItem(final String name, final F data, final Mixed tform, BiConsumer<Localizable, T> setter, final int... attachedAxes) {
+        VaryingItem(final String name, final Class<?> declaredClass, final F data, final Mixed tform, BiConsumer<Localizable, T> setter, final int... attachedAxes) {
             super(data, tform);
             this.name = name;
+            this.declaredClass = declaredClass;
             this.data = data;
             this.setter = setter;
             this.attachedAxes = attachedAxes;
+            this.attachedMask = axisMask(attachedAxes);
+            this.varyingAxes = new int[tform.numTargetDimensions()];
+            tform.getComponentMapping(this.varyingAxes);
+            this.varyingMask = axisMask(varyingAxes);
         }
 
 		@Override
@@ -398,41 +1049,92 @@ public final class Metadata {
 			return sb.toString();
 		}
 
+        // Writes through setAt share one writer
+        private MetadataWriter<T> sharedWriter;
+
         @Override
-        public void setAt(T value, int... position) {
-            Point p = pointCache.get();
-            int[] dest = new int[getTransformToSource().numTargetDimensions()];
-            getTransformToSource().apply(position, dest);
-            p.setPosition(dest);
-            setter.accept(p, value);
+        public synchronized void setAt(T value, int... position) {
+            sharedWriter().setAt(value, position);
         }
 
         @Override
-        public void setAt(T value, long... position) {
-            Point p = pointCache.get();
-            long[] dest = new long[getTransformToSource().numTargetDimensions()];
-            getTransformToSource().apply(position, dest);
-            p.setPosition(dest);
-            setter.accept(p, value);
+        public synchronized void setAt(T value, long... position) {
+            sharedWriter().setAt(value, position);
         }
 
         @Override
-        public void setAt(T value, Localizable position) {
-            Point p = pointCache.get();
-            getTransformToSource().apply(position, p);
-            setter.accept(position, value);
+        public synchronized void setAt(T value, Localizable position) {
+            sharedWriter().setAt(value, position);
+        }
+
+        private MetadataWriter<T> sharedWriter() {
+            if (sharedWriter == null) {
+                sharedWriter = writer();
+            }
+            return sharedWriter;
+        }
+
+        @Override
+        public MetadataWriter<T> writer() {
+            return new VaryingWriter();
+        }
+
+        /** Maps positions onto the data, and hands them to the setter. */
+        private class VaryingWriter implements MetadataWriter<T> {
+
+            final Point position = new Point(numDimensions());
+            final Point dataPosition = new Point(getTransformToSource().numTargetDimensions());
+
+            @Override
+            public void setAt(T value, int... pos) {
+                position.setPosition(pos);
+                setAt(value, position);
+            }
+
+            @Override
+            public void setAt(T value, long... pos) {
+                position.setPosition(pos);
+                setAt(value, position);
+            }
+
+            @Override
+            public void setAt(T value, Localizable pos) {
+                getTransformToSource().apply(pos, dataPosition);
+                setter.accept(dataPosition, value);
+            }
         }
 
         @Override
         public int[] attachedAxes() {
             return attachedAxes;
         }
+        @Override
+        public long attachedAxesMask() {
+            return attachedMask;
+        }
+
         @Override
         public int[] varyingAxes() {
-            int[] varyingAxes = new int[getTransformToSource().numTargetDimensions()];
-            getTransformToSource().getComponentMapping(varyingAxes);
             return varyingAxes;
         }
-    }
 
+        @Override
+        public long varyingAxesMask() {
+            return varyingMask;
+        }
+
+        @Override
+        public Class<?> valueClass() {
+            if (declaredClass != null) {
+                return declaredClass;
+            }
+            // Evaluate the data at most once
+            Class<?> c = inferredClass;
+            if (c == null) {
+                final T type = getType();
+                inferredClass = c = type == null ? null : type.getClass();
+            }
+            return c;
+        }
+    }
 }
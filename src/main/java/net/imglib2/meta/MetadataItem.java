@@ -33,12 +33,19 @@
  */
 package net.imglib2.meta;
 
+import net.imglib2.Interval;
 import net.imglib2.Localizable;
+import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessible;
 import net.imglib2.meta.view.MetadataItemView;
+import net.imglib2.type.Type;
 
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * A piece of metadata associated with an n-dimensional dataset.
@@ -88,6 +95,36 @@ public interface MetadataItem<T> extends RandomAccessible<T> {
     default void setAt(T value, Localizable pos) {
         throw new UnsupportedOperationException("This MetadataItem is read-only!");
     }
+
+    /**
+     * Returns a {@link MetadataWriter} for this metadata.
+     * <p>
+     * Writers keep their own state, so that repeated writes through one writer do not allocate. By default, the
+     * writer delegates to {@link #setAt(Object, Localizable)} et. al.
+     * </p>
+     *
+     * @return a new {@link MetadataWriter}, for use by a single thread.
+     */
+    default MetadataWriter<T> writer() {
+        final MetadataItem<T> item = this;
+        return new MetadataWriter<T>() {
+
+            @Override
+            public void setAt(T value, int... pos) {
+                item.setAt(value, pos);
+            }
+
+            @Override
+            public void setAt(T value, long... pos) {
+                item.setAt(value, pos);
+            }
+
+            @Override
+            public void setAt(T value, Localizable pos) {
+                item.setAt(value, pos);
+            }
+        };
+    }
 	// -- default utility methods -- //
 
     /**
@@ -106,6 +143,21 @@ public interface MetadataItem<T> extends RandomAccessible<T> {
      */
     int[] attachedAxes();
 
+    /**
+     * Describes the axes this metadata is attached to as a bitmask, in which bit {@code d} is set iff this metadata is
+     * attached to axis {@code d}.
+     * <p>
+     * Implementations should compute this mask once, as stores and views use it to compare axis sets without
+     * allocation.
+     * </p>
+     *
+     * @return the bitmask of {@link #attachedAxes()}, or {@link Metadata#NO_AXIS_MASK} if it cannot be represented.
+     * @see Metadata#axisMask(int...)
+     */
+    default long attachedAxesMask() {
+        return Metadata.axisMask(attachedAxes());
+    }
+
     /**
      * Tests whether this metadata is attached to <b>exactly</b> the given axes.
      *
@@ -113,20 +165,21 @@ public interface MetadataItem<T> extends RandomAccessible<T> {
      * @return true if this metadata is attached to the given axes.
      */
     default boolean isAttachedTo(int... dims) {
-        int[] attached = attachedAxes();
-        if (attached.length != dims.length) {
+        final long attached = attachedAxesMask();
+        if (attached == Metadata.NO_AXIS_MASK) {
+            return Metadata.sameAxes(attachedAxes(), dims);
+        }
+        if (Long.bitCount(attached) != dims.length) {
             return false;
         }
-        outer:
+        long mask = 0L;
         for (int dim : dims) {
-            for (int a : attached) {
-                if (a == dim) {
-                    continue outer;
-                }
+            if (dim < 0 || dim >= Long.SIZE) {
+                return false;
             }
-            return false;
+            mask |= 1L << dim;
         }
-        return true;
+        return mask == attached;
     }
 
     /**
@@ -146,6 +199,32 @@ public interface MetadataItem<T> extends RandomAccessible<T> {
      */
     int[] varyingAxes();
 
+    /**
+     * Describes the axes this metadata varies along as a bitmask, in which bit {@code d} is set iff this metadata
+     * varies along axis {@code d}.
+     *
+     * @return the bitmask of {@link #varyingAxes()}, or {@link Metadata#NO_AXIS_MASK} if it cannot be represented.
+     * @see Metadata#axisMask(int...)
+     */
+    default long varyingAxesMask() {
+        return Metadata.axisMask(varyingAxes());
+    }
+
+    /**
+     * Tests whether this metadata is present.
+     * <p>
+     * Absent metadata, returned by {@link MetadataStore}s when no metadata matches a request, has no values: accessing
+     * them throws a {@link NoSuchElementException}. This method allows checking for absence without catching
+     * exceptions.
+     * </p>
+     *
+     * @return {@code false} iff this metadata is absent.
+     * @see Metadata#absent(String, int, int[])
+     */
+    default boolean isPresent() {
+        return true;
+    }
+
 	/**
 	 * Returns the value of the metadata at an <em>arbitrary</em> position.
 	 * Convenient for constant metadata.
@@ -165,6 +244,9 @@ public interface MetadataItem<T> extends RandomAccessible<T> {
      * @return the value of the metadata at an arbitrary position.
      */
     default T valueOr(T defaultValue) {
+        if (!isPresent()) {
+            return defaultValue;
+        }
         try {
             return value();
         } catch (NoSuchElementException e) {
@@ -172,6 +254,16 @@ public interface MetadataItem<T> extends RandomAccessible<T> {
         }
     }
 
+    /**
+     * Returns the value of the metadata at an <em>arbitrary</em> position, or {@code null} if this metadata is absent.
+     * Convenient for constant metadata.
+     *
+     * @return the value of the metadata at an arbitrary position, or {@code null}.
+     */
+    default T valueOrNull() {
+        return valueOr(null);
+    }
+
     /**
      * Returns {@code this}, unless this {@link MetadataItem} is absent (in which case {@code defaultItem} is returned).
      *
@@ -207,6 +299,117 @@ public interface MetadataItem<T> extends RandomAccessible<T> {
         setAt(value, new long[numDimensions()]);
     }
 
+    /**
+     * Describes the class of this metadata's values.
+     * <p>
+     * Items may declare their value class when created (e.g. through a {@link MetadataKey}), allowing
+     * {@link MetadataStore}s to filter items by type without evaluating them. By default, the class is read off
+     * {@link #getType()}, which may be expensive; implementations are encouraged to override this method.
+     * </p>
+     *
+     * @return the class all values of this metadata are instances of, or {@code null} if unknown.
+     */
+    default Class<?> valueClass() {
+        final T type = getType();
+        return type == null ? null : type.getClass();
+    }
+
+    /**
+     * Tests whether the values of this metadata are instances of {@code type}.
+     *
+     * @param type the type to test for.
+     * @return true if {@link #valueClass()} is {@code type}, or a subtype thereof.
+     */
+    default boolean isOfType(Class<?> type) {
+        final Class<?> valueClass = valueClass();
+        return valueClass != null && type.isAssignableFrom(valueClass);
+    }
+
+    // -- Bulk extraction -- //
+
+    /**
+     * Performs {@code action} on the value at each position of {@code region}, in one pass.
+     * <p>
+     * {@code region} spans the {@link #varyingAxes()} of this metadata: its dimension {@code i} covers dataset axis
+     * {@code varyingAxes()[i]}. Positions are visited in flat iteration order, i.e. with the first dimension of
+     * {@code region} moving fastest. Values of other axes do not matter, as the metadata does not vary along them.
+     * </p>
+     * <p>
+     * As with a {@link net.imglib2.RandomAccess}, values may be reused between positions; {@code action} must copy
+     * values it retains. Implementations reading values from a backend are encouraged to override this method (and
+     * {@link #toDoubleArray}, {@link #toLongArray} and {@link #toArray}) with batched reads.
+     * </p>
+     *
+     * @param region the positions to visit, along the varying axes.
+     * @param action the action to perform on each value.
+     * @throws IllegalArgumentException if {@code region} does not have one dimension per varying axis.
+     */
+    default void forEachVarying(Interval region, Consumer<? super T> action) {
+        final int[] axes = varyingAxes();
+        final long size = Metadata.regionSize(this, region);
+        final RandomAccess<T> access = randomAccess();
+        final long[] pos = region.minAsLongArray();
+        for (int d = 0; d < axes.length; d++) {
+            access.setPosition(pos[d], axes[d]);
+        }
+        for (long i = 0; i < size; i++) {
+            action.accept(access.get());
+            // Advance to the next position, carrying into higher dimensions
+            for (int d = 0; d < axes.length; d++) {
+                if (pos[d] < region.max(d)) {
+                    access.setPosition(++pos[d], axes[d]);
+                    break;
+                }
+                pos[d] = region.min(d);
+                access.setPosition(pos[d], axes[d]);
+            }
+        }
+    }
+
+    /**
+     * Extracts the values at each position of {@code region} into a {@code double[]}.
+     *
+     * @param region the positions to extract, along the varying axes (see {@link #forEachVarying}).
+     * @param toDouble converts each value to a {@code double}.
+     * @return the converted values, in flat iteration order of {@code region}.
+     */
+    default double[] toDoubleArray(Interval region, ToDoubleFunction<? super T> toDouble) {
+        final double[] values = new double[Metadata.regionSize(this, region)];
+        final int[] i = {0};
+        forEachVarying(region, value -> values[i[0]++] = toDouble.applyAsDouble(value));
+        return values;
+    }
+
+    /**
+     * Extracts the values at each position of {@code region} into a {@code long[]}.
+     *
+     * @param region the positions to extract, along the varying axes (see {@link #forEachVarying}).
+     * @param toLong converts each value to a {@code long}.
+     * @return the converted values, in flat iteration order of {@code region}.
+     */
+    default long[] toLongArray(Interval region, ToLongFunction<? super T> toLong) {
+        final long[] values = new long[Metadata.regionSize(this, region)];
+        final int[] i = {0};
+        forEachVarying(region, value -> values[i[0]++] = toLong.applyAsLong(value));
+        return values;
+    }
+
+    /**
+     * Extracts the values at each position of {@code region} into an array. ImgLib2 {@link Type}s are copied, as they
+     * may be reused between positions.
+     *
+     * @param region the positions to extract, along the varying axes (see {@link #forEachVarying}).
+     * @param generator creates an array of the given length.
+     * @return the values, in flat iteration order of {@code region}.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    default T[] toArray(Interval region, IntFunction<T[]> generator) {
+        final T[] values = generator.apply(Metadata.regionSize(this, region));
+        final int[] i = {0};
+        forEachVarying(region, value -> values[i[0]++] = value instanceof Type ? (T) ((Type) value).copy() : value);
+        return values;
+    }
+
 	// -- RandomAccessible Overrides -- //
     @Override
     default MetadataItemView<T> view() {
@@ -0,0 +1,159 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed key identifying {@link MetadataItem}s.
+ * <p>
+ * Each {@link MetadataKey} couples a {@link String} key with the {@link Class}
+ * of its values. Additionally, the {@link String} key of every declared
+ * {@link MetadataKey} is assigned a dense integer {@link #id()}, shared by all
+ * {@link MetadataKey}s of that name. Stores index items by id, so that lookups
+ * through a {@link MetadataKey} skip hashing and comparing its name.
+ * </p>
+ * <p>
+ * Ids are assigned for the lifetime of the application, so {@link MetadataKey}s
+ * are meant to be declared as constants. At most {@value #MAX_IDS} names are
+ * assigned an id; keys created beyond that are looked up by name.
+ * Keys whose names are only known at runtime, such as attributes read from a
+ * file, should be looked up by their {@link String} name instead; this never
+ * assigns an id.
+ * </p>
+ * <p>
+ * {@link String} keys remain fully supported: {@code store.item(key)} is
+ * equivalent to {@code store.item(key.name(), key.type())}.
+ * </p>
+ *
+ * @param <T> the type of metadata values
+ * @see MetadataStore#item(MetadataKey, int...)
+ */
+public final class MetadataKey<T> {
+
+	/** The maximum number of names assigned an id, bounding the id tables of stores. */
+	public static final int MAX_IDS = 4096;
+
+	private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+	private final String name;
+	private final Class<T> type;
+	private final int id;
+
+	private MetadataKey(String name, Class<T> type) {
+		this.name = name;
+		this.type = type;
+		this.id = register(name);
+	}
+
+	/**
+	 * Creates a {@link MetadataKey}.
+	 *
+	 * @param name the {@link String} key
+	 * @param type the {@link Class} of metadata values
+	 * @return a {@link MetadataKey} of {@code name} and {@code type}
+	 * @param <T> the type of metadata values
+	 */
+	public static <T> MetadataKey<T> of(String name, Class<T> type) {
+		return new MetadataKey<>(name, type);
+	}
+
+	/**
+	 * Looks up the id assigned to a {@link String} key, without assigning one.
+	 *
+	 * @param name the {@link String} key
+	 * @return the id of {@code name}, or {@code -1} if {@code name} has no id yet
+	 */
+	public static int idOf(String name) {
+		Integer id = IDS.get(name);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Gets the id of a {@link String} key, assigning the next free one if
+	 * {@code name} has none yet.
+	 *
+	 * @return the id of {@code name}, or {@code -1} if all ids are taken
+	 */
+	private static int register(String name) {
+		Integer id = IDS.get(name);
+		if (id == null) {
+			// Returning null from the mapping function leaves name without an id
+			id = IDS.computeIfAbsent(name, k -> {
+				final int next = NEXT_ID.getAndUpdate(i -> i < MAX_IDS ? i + 1 : i);
+				return next < MAX_IDS ? next : null;
+			});
+		}
+		return id == null ? -1 : id;
+	}
+
+	/** @return the {@link String} key */
+	public String name() {
+		return name;
+	}
+
+	/** @return the {@link Class} of metadata values */
+	public Class<T> type() {
+		return type;
+	}
+
+	/**
+	 * @return the dense integer id shared by all keys named {@link #name()}, or
+	 *         {@code -1} if all {@value #MAX_IDS} ids were taken before
+	 */
+	public int id() {
+		return id;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof MetadataKey)) return false;
+		MetadataKey<?> other = (MetadataKey<?>) o;
+		return id == other.id && type.equals(other.type) && (id >= 0 || name.equals(other.name));
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (id >= 0 ? id : name.hashCode()) + type.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return name + " (" + type.getSimpleName() + ")";
+	}
+}
@@ -38,7 +38,6 @@ import net.imglib2.Localizable;
 import net.imglib2.RandomAccessible;
 
 import java.util.Collection;
-import java.util.ServiceLoader;
 import java.util.function.BiConsumer;
 
 /**
@@ -75,12 +74,30 @@ public interface MetadataStore extends EuclideanSpace {
 	 */
 	<T> MetadataItem<T> item(String key, Class<T> ofType, int... dims);
 
-	/** Get a window into a bundle of metadata, in a nice type-safe way, according to the specified interface. */
+	/**
+	 * Find a metadata item associated with typed key {@code key} and axes {@code dims}.
+	 * <p>
+	 * By default, this is equivalent to {@code item(key.name(), key.type(), dims)}. Implementations may override to
+	 * take advantage of the typed key.
+	 * </p>
+	 *
+	 * @param key the typed identifier of the metadata item
+	 * @param dims the axes associated with the metadata item
+	 * @return a metadata item matching {@code key}
+	 */
+	default <T> MetadataItem<T> item(MetadataKey<T> key, int... dims) {
+		return item(key.name(), key.type(), dims);
+	}
+
+	/**
+	 * Get a window into a bundle of metadata, in a nice type-safe way, according to the specified interface.
+	 * <p>
+	 * By default, a new window is created on each call. Implementations are encouraged to reuse windows using an
+	 * {@link InfoCache}.
+	 * </p>
+	 */
     default <T extends HasMetadataStore> T info(Class<T> infoClass) {
-        ServiceLoader<T> loader = ServiceLoader.load(infoClass);
-        T instance = loader.iterator().next();
-        instance.setStore(this);
-        return instance;
+        return InfoRegistry.create(infoClass, this);
     }
 
 	/**
@@ -122,8 +139,9 @@ public interface MetadataStore extends EuclideanSpace {
      * </p>
      * @param key the identifier of the metadata item
      * @param data the metadata
-     * @param setter a function able to update the metadata value at a given position
-     * TODO: This parameter is <b>REALLY</b> unfortunate. Very interested in better designs.
+     * @param setter a function able to update the metadata value at a given position of {@code data}. Metadata that needs no custom
+     * storage can instead be created writable, through {@link Metadata#dense} or {@link Metadata#denseObjects}, and
+     * added with {@link #add(MetadataItem)}.
      * @param varyingAxes the axes (in the data dimension) where this metadata varies.
      * @param attachedAxes the axes associated with the metadata item
      */
@@ -144,4 +162,101 @@ public interface MetadataStore extends EuclideanSpace {
         // Implementations may override to implement metadata writes
         throw new UnsupportedOperationException(getClass() + " is Read-only!");
     }
+
+    /**
+     * Adds metadata {@code data} associated with key {@code key} and axes {@code attachedAxes}, replacing any
+     * metadata already associated with that key and those axes.
+     * <p>
+     * Some {@link MetadataStore}s are <b>read-only</b> and do not support adding new items. Calling this method on
+     * such a {@link MetadataStore} should throw an {@link UnsupportedOperationException}.
+     * </p>
+     * @param key the identifier of the metadata item
+     * @param data the metadata
+     * @param attachedAxes the axes associated with the metadata item
+     * @see #put(MetadataItem)
+     */
+    default <T> void put(String key, T data, int... attachedAxes) {
+        put(Metadata.constant(key, data, numDimensions(), attachedAxes));
+    }
+
+    /**
+     * Adds metadata {@code data} associated with typed key {@code key} and axes {@code attachedAxes}, replacing any
+     * metadata already associated with that key and those axes.
+     * <p>
+     * Some {@link MetadataStore}s are <b>read-only</b> and do not support adding new items. Calling this method on
+     * such a {@link MetadataStore} should throw an {@link UnsupportedOperationException}.
+     * </p>
+     * @param key the typed identifier of the metadata item
+     * @param data the metadata
+     * @param attachedAxes the axes associated with the metadata item
+     * @see #put(MetadataItem)
+     */
+    default <T> void put(MetadataKey<T> key, T data, int... attachedAxes) {
+        put(Metadata.constant(key, data, numDimensions(), attachedAxes));
+    }
+
+    /**
+     * Adds metadata {@code data} associated with key {@code key} and axes {@code attachedAxes}, replacing any
+     * metadata already associated with that key and those axes.
+     * <p>
+     * Some {@link MetadataStore}s are <b>read-only</b> and do not support adding new items. Calling this method on
+     * such a {@link MetadataStore} should throw an {@link UnsupportedOperationException}.
+     * </p>
+     * @param key the identifier of the metadata item
+     * @param data the metadata
+     * @param varyingAxes the axes (in the data dimension) where this metadata varies.
+     * @param attachedAxes the axes associated with the metadata item
+     * @see #put(MetadataItem)
+     */
+    default <T> void put(String key, RandomAccessible<T> data, int[] varyingAxes, int... attachedAxes) {
+        put(Metadata.varying(key, data, numDimensions(), varyingAxes, attachedAxes));
+    }
+
+    /**
+     * Adds {@code item}, replacing all items with the same key attached to the same axes.
+     * <p>
+     * Unlike {@link #add(MetadataItem)}, repeatedly putting items with the same key and axes does not grow the store,
+     * and the latest item is the one returned by {@link #item(String, Class, int...)}.
+     * </p>
+     * <p>
+     * Some {@link MetadataStore}s are <b>read-only</b> and do not support adding new items. Calling this method on
+     * such a {@link MetadataStore} should throw an {@link UnsupportedOperationException}.
+     * </p>
+     * @param item the {@link MetadataItem} to put
+     */
+    default <T> void put(MetadataItem<T> item) {
+        // Implementations may override to replace items in place
+        remove(item.name(), item.attachedAxes());
+        add(item);
+    }
+
+    /**
+     * Counts the modifications of this store, allowing others (e.g. views) to cache what they derive from it.
+     * <p>
+     * The count changes whenever items are added, put or removed, and never otherwise; its value is meaningless
+     * beyond that. Stores that cannot tell when their items change, e.g. stores reading a file on each lookup, return
+     * a negative number, which prevents caching.
+     * </p>
+     *
+     * @return the number of modifications of this store, or a negative number if they are not tracked
+     */
+    default long modificationCount() {
+        return -1L;
+    }
+
+    /**
+     * Removes all metadata associated with key {@code key} and axes {@code attachedAxes}.
+     * <p>
+     * Some {@link MetadataStore}s are <b>read-only</b> and do not support removing items. Calling this method on
+     * such a {@link MetadataStore} should throw an {@link UnsupportedOperationException}.
+     * </p>
+     * @param key the identifier of the metadata item
+     * @param attachedAxes the axes associated with the metadata item
+     * @return {@code true} iff any metadata was removed
+     */
+    @SuppressWarnings("unused")
+    default boolean remove(String key, int... attachedAxes) {
+        // Implementations may override to implement metadata removal
+        throw new UnsupportedOperationException(getClass() + " is Read-only!");
+    }
 }
@@ -0,0 +1,74 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Localizable;
+
+/**
+ * Writes values of a {@link MetadataItem}.
+ * <p>
+ * Like a {@link net.imglib2.RandomAccess}, a writer holds the state it needs to
+ * write, such that its writes do not allocate. Writers are thus not
+ * thread-safe: each thread should obtain its own writer through
+ * {@link MetadataItem#writer()}, and reuse it for all of its writes.
+ * </p>
+ *
+ * @param <T> the type of metadata values.
+ */
+public interface MetadataWriter<T> {
+
+	/**
+	 * Sets the value of the metadata at position {@code pos}.
+	 *
+	 * @param value the new value.
+	 * @param pos a position in the {@code n}-dimensional metadata space.
+	 */
+	void setAt(T value, int... pos);
+
+	/**
+	 * Sets the value of the metadata at position {@code pos}.
+	 *
+	 * @param value the new value.
+	 * @param pos a position in the {@code n}-dimensional metadata space.
+	 */
+	void setAt(T value, long... pos);
+
+	/**
+	 * Sets the value of the metadata at position {@code pos}.
+	 *
+	 * @param value the new value.
+	 * @param pos a position in the {@code n}-dimensional metadata space.
+	 */
+	void setAt(T value, Localizable pos);
+}
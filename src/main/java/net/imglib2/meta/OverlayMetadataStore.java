@@ -0,0 +1,245 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link MetadataStore} layering a writable store over one or more
+ * read-only backend stores.
+ * <p>
+ * This allows annotating datasets whose metadata comes from read-only sources
+ * (e.g. file format readers, or views) without copying that metadata. Writes
+ * only ever go to the writable layer, and lookups consult the writable layer
+ * first, then each backend store in the order given. Within each layer, the
+ * usual precedence applies.
+ * </p>
+ * <p>
+ * The result of each lookup is cached by key, type and axes, such that
+ * repeated lookups cost a single hash probe. Absent results are cached too,
+ * up to {@value #MAX_CACHED_ABSENT} of them between invalidations. Writes
+ * through this store invalidate the cache, as do direct modifications of
+ * backend stores that track their {@link #modificationCount()}; if any other
+ * backend store is modified directly, call {@link #invalidate()}.
+ * </p>
+ * <p>
+ * Lookups are safe to perform concurrently, but this store is not thread-safe
+ * with respect to writes.
+ * </p>
+ */
+public class OverlayMetadataStore implements MetadataStore {
+
+	private final MetadataStore local;
+	private final List<MetadataStore> backends;
+	/** The maximum number of absent lookup results cached at once. */
+	public static final int MAX_CACHED_ABSENT = 1024;
+
+	private final Map<ItemLookup, MetadataItem<?>> cache = new ConcurrentHashMap<>();
+	private final AtomicInteger cachedAbsent = new AtomicInteger();
+	private final InfoCache infos = new InfoCache(this);
+	// The modification count of the backends when the cache was last validated
+	private volatile long validatedBackendCount;
+
+	/**
+	 * Creates an overlay with an empty writable layer over {@code backends}.
+	 *
+	 * @param backends the read-only stores, in order of precedence
+	 * @throws IllegalArgumentException if no backend is given, or the backends
+	 *           differ in dimensionality
+	 */
+	public OverlayMetadataStore(MetadataStore... backends) {
+		if (backends.length == 0) {
+			throw new IllegalArgumentException("At least one backend store is required");
+		}
+		this.backends = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(backends)));
+		final int n = backends[0].numDimensions();
+		for (MetadataStore backend : backends) {
+			if (backend.numDimensions() != n) {
+				throw new IllegalArgumentException("Backend stores have differing dimensionality: " + n + " and " + backend.numDimensions());
+			}
+		}
+		this.local = new IndexedMetadataStore(n);
+		this.validatedBackendCount = backendCount();
+	}
+
+	/** @return the read-only stores beneath the writable layer, in order of precedence */
+	public List<MetadataStore> backends() {
+		return backends;
+	}
+
+	/**
+	 * Discards all cached lookups. Must be called after modifying a backend
+	 * store directly, unless that store tracks its {@link #modificationCount()}.
+	 */
+	public void invalidate() {
+		cache.clear();
+		cachedAbsent.set(0);
+	}
+
+	/**
+	 * Returns all items of the writable layer, followed by the items of each
+	 * backend store not shadowed by a preceding layer.
+	 * <p>
+	 * As in {@link #item(String, Class, int...)}, a backend item is shadowed
+	 * iff a preceding layer holds an item with the same key and axes whose
+	 * values are of the backend item's {@link MetadataItem#valueClass() type};
+	 * every returned item can thus be looked up by its key, type and axes.
+	 * </p>
+	 */
+	@Override
+	public Collection<? extends MetadataItem<?>> items() {
+		final List<MetadataItem<?>> items = new ArrayList<>(local.items());
+		for (int i = 0; i < backends.size(); i++) {
+			for (MetadataItem<?> item : backends.get(i).items()) {
+				if (!isShadowed(item, i)) {
+					items.add(item);
+				}
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * @return {@code true} iff looking up {@code item} by its key, type and
+	 *         axes is answered by a layer preceding backend {@code backend}
+	 */
+	private boolean isShadowed(MetadataItem<?> item, int backend) {
+		final Class<?> valueClass = item.valueClass();
+		final Class<?> type = valueClass == null ? Object.class : valueClass;
+		final int[] axes = item.attachedAxes();
+		if (local.item(item.name(), type, axes).isPresent()) {
+			return true;
+		}
+		for (int j = 0; j < backend; j++) {
+			if (backends.get(j).item(item.name(), type, axes).isPresent()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public <T> MetadataItem<T> item(String name, Class<T> ofType, int... dims) {
+		final long count = backendCount();
+		if (count >= 0 && count != validatedBackendCount) {
+			invalidate();
+			validatedBackendCount = count;
+		}
+		final MetadataItem<?> cached = cache.get(new ItemLookup(name, ofType, dims));
+		if (cached != null) {
+			//noinspection unchecked
+			return (MetadataItem<T>) cached;
+		}
+		final MetadataItem<T> item = lookup(name, ofType, dims);
+		if (item.isPresent()) {
+			cache.put(new ItemLookup(name, ofType, dims.clone()), item);
+		} else if (cachedAbsent.get() < MAX_CACHED_ABSENT && cache.put(new ItemLookup(name, ofType, dims.clone()), item) == null) {
+			// Probing many distinct keys must not grow the cache without bound
+			cachedAbsent.incrementAndGet();
+		}
+		return item;
+	}
+
+	private <T> MetadataItem<T> lookup(String name, Class<T> ofType, int[] dims) {
+		MetadataItem<T> item = local.item(name, ofType, dims);
+		for (int i = 0; !item.isPresent() && i < backends.size(); i++) {
+			item = backends.get(i).item(name, ofType, dims);
+		}
+		return item.isPresent() ? item : Metadata.absent(name, numDimensions(), dims);
+	}
+
+	@Override
+	public <T> void add(MetadataItem<T> item) {
+		local.add(item);
+		invalidate();
+	}
+
+	@Override
+	public <T> void put(MetadataItem<T> item) {
+		local.put(item);
+		invalidate();
+	}
+
+	/**
+	 * Removes matching metadata from the writable layer. Matching metadata of
+	 * the backend stores is unaffected, and becomes visible again.
+	 */
+	@Override
+	public boolean remove(String key, int... attachedAxes) {
+		final boolean removed = local.remove(key, attachedAxes);
+		if (removed) {
+			invalidate();
+		}
+		return removed;
+	}
+
+	@Override
+	public <T extends HasMetadataStore> T info(Class<T> infoClass) {
+		return infos.get(infoClass);
+	}
+
+	/**
+	 * Counts modifications of the writable layer and all backends, if every backend tracks its modifications.
+	 */
+	@Override
+	public long modificationCount() {
+		final long count = backendCount();
+		return count < 0 ? count : count + local.modificationCount();
+	}
+
+	/** @return the sum of the backends' modification counts, or {@code -1} if any backend does not track them */
+	private long backendCount() {
+		long sum = 0;
+		for (MetadataStore backend : backends) {
+			final long count = backend.modificationCount();
+			if (count < 0) {
+				return -1L;
+			}
+			sum += count;
+		}
+		return sum;
+	}
+
+	@Override
+	public int numDimensions() {
+		return local.numDimensions();
+	}
+}
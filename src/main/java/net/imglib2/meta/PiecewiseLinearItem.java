@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.Arrays;
+
+/**
+ * An {@link AnalyticMetadataItem} interpolating linearly between knots, created by {@link Metadata#piecewiseLinear}.
+ */
+class PiecewiseLinearItem extends AnalyticItem {
+
+    // Strictly increasing
+    final double[] positions;
+    final double[] values;
+
+    PiecewiseLinearItem(final String name, final double[] positions, final double[] values, final int numDimensions, final int axis, final int... attachedAxes) {
+        super(name, numDimensions, axis, attachedAxes);
+        this.positions = positions;
+        this.values = values;
+    }
+
+    @Override
+    public double evaluate(double x) {
+        final int last = positions.length - 1;
+        if (last == 0) {
+            return values[0];
+        }
+        int i = Arrays.binarySearch(positions, x);
+        if (i >= 0) {
+            return values[i];
+        }
+        // Interpolate within segment [i, i + 1], extrapolating the first and last segment
+        i = Math.max(0, Math.min(last - 1, -i - 2));
+        final double t = (x - positions[i]) / (positions[i + 1] - positions[i]);
+        return values[i] + t * (values[i + 1] - values[i]);
+    }
+
+    @Override
+    AnalyticItem reparameterize(int numDimensions, int axis, int[] attachedAxes, long scale, long offset) {
+        // The new position of each knot solves scale * x + offset = position
+        final int size = positions.length;
+        final double[] p = new double[size];
+        final double[] v = new double[size];
+        for (int i = 0; i < size; i++) {
+            final int j = scale < 0 ? size - 1 - i : i;
+            p[i] = (positions[j] - offset) / scale;
+            v[i] = values[j];
+        }
+        return new PiecewiseLinearItem(name, p, v, numDimensions, axis, attachedAxes);
+    }
+
+    @Override
+    public String toString() {
+        return "PiecewiseLinearItem \"" + name + "\"; varying along axis " + axis + "; " + positions.length + " knots";
+    }
+}
@@ -0,0 +1,80 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.Arrays;
+
+/**
+ * An {@link AnalyticMetadataItem} evaluating a polynomial, created by {@link Metadata#polynomial}.
+ */
+class PolynomialItem extends AnalyticItem {
+
+    // In order of increasing degree
+    final double[] coefficients;
+
+    PolynomialItem(final String name, final double[] coefficients, final int numDimensions, final int axis, final int... attachedAxes) {
+        super(name, numDimensions, axis, attachedAxes);
+        this.coefficients = coefficients;
+    }
+
+    @Override
+    public double evaluate(double x) {
+        double value = 0;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            value = value * x + coefficients[i];
+        }
+        return value;
+    }
+
+    @Override
+    AnalyticItem reparameterize(int numDimensions, int axis, int[] attachedAxes, long scale, long offset) {
+        // Horner's scheme, on polynomials: p(scale * x + offset)
+        final double[] composed = new double[coefficients.length];
+        int degree = 0;
+        composed[0] = coefficients[coefficients.length - 1];
+        for (int i = coefficients.length - 2; i >= 0; i--) {
+            // Multiply by (offset + scale * x), then add coefficients[i]
+            for (int d = ++degree; d > 0; d--) {
+                composed[d] = composed[d] * offset + composed[d - 1] * scale;
+            }
+            composed[0] = composed[0] * offset + coefficients[i];
+        }
+        return new PolynomialItem(name, composed, numDimensions, axis, attachedAxes);
+    }
+
+    @Override
+    public String toString() {
+        return "PolynomialItem \"" + name + "\"; varying along axis " + axis + "; coefficients " + Arrays.toString(coefficients);
+    }
+}
@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Localizable;
+
+import java.util.Arrays;
+
+/**
+ * A position along the varying axes of a {@link CachedItem}.
+ */
+final class PositionKey {
+
+    final long[] position;
+    int hash;
+
+    PositionKey(final int numVaryingAxes) {
+        this.position = new long[numVaryingAxes];
+    }
+
+    PositionKey set(final int[] axes, final long[] pos) {
+        for (int i = 0; i < axes.length; i++) {
+            position[i] = pos[axes[i]];
+        }
+        hash = Arrays.hashCode(position);
+        return this;
+    }
+
+    PositionKey set(final int[] axes, final int[] pos) {
+        for (int i = 0; i < axes.length; i++) {
+            position[i] = pos[axes[i]];
+        }
+        hash = Arrays.hashCode(position);
+        return this;
+    }
+
+    PositionKey set(final int[] axes, final Localizable pos) {
+        for (int i = 0; i < axes.length; i++) {
+            position[i] = pos.getLongPosition(axes[i]);
+        }
+        hash = Arrays.hashCode(position);
+        return this;
+    }
+
+    PositionKey copy() {
+        final PositionKey copy = new PositionKey(position.length);
+        System.arraycopy(position, 0, copy.position, 0, position.length);
+        copy.hash = hash;
+        return copy;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof PositionKey && Arrays.equals(position, ((PositionKey) obj).position);
+    }
+}
@@ -0,0 +1,94 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.RealInterval;
+import net.imglib2.RealRandomAccess;
+import net.imglib2.RealRandomAccessible;
+
+/**
+ * A coupled {@link RealRandomAccessible} and associated {@link RealMetadataStore}, e.g. an interpolated
+ * {@link Dataset}.
+ *
+ * @param <T> the type of samples in the {@link RealRandomAccessible}
+ * @see net.imglib2.meta.view.DatasetView#interpolate(net.imglib2.view.fluent.RandomAccessibleView.Interpolation, RealMetadataItem.Interpolation)
+ */
+public interface RealDataset<T> extends RealRandomAccessible<T> {
+	RealRandomAccessible<T> data();
+	RealMetadataStore store();
+
+	/**
+	 * Creates a new {@link RealDataset} from a {@link RealRandomAccessible} and a {@link RealMetadataStore}.
+	 *
+	 * @param delegate the coupled {@link RealRandomAccessible}
+	 * @param store the coupled {@link RealMetadataStore}
+	 * @return a {@link RealDataset} wrapping {@code delegate} and {@code store}
+	 * @param <T> the type of samples in {@code delegate}
+	 */
+	static <T> RealDataset<T> wrap(RealRandomAccessible<T> delegate, RealMetadataStore store) {
+		return new RealDataset<T>() {
+			@Override
+			public RealRandomAccessible<T> data() {
+				return delegate;
+			}
+
+			@Override
+			public RealMetadataStore store() {
+				return store;
+			}
+		};
+	}
+
+	// -- RealRandomAccessible overrides -- //
+
+	@Override
+	default T getType() {
+		return this.data().getType();
+	}
+
+	@Override
+	default int numDimensions() {
+		return this.data().numDimensions();
+	}
+
+	@Override
+	default RealRandomAccess<T> realRandomAccess() {
+		return this.data().realRandomAccess();
+	}
+
+	@Override
+	default RealRandomAccess<T> realRandomAccess(RealInterval interval) {
+		return this.data().realRandomAccess(interval);
+	}
+}
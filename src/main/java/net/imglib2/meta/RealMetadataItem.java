@@ -0,0 +1,108 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.RealLocalizable;
+import net.imglib2.RealRandomAccessible;
+import net.imglib2.type.numeric.real.DoubleType;
+
+/**
+ * Numeric metadata, queryable at real coordinates of an {@code n}-dimensional
+ * dataset.
+ * <p>
+ * {@link RealMetadataItem}s interpolate the values of a numeric
+ * {@link MetadataItem} along its {@link #varyingAxes() varying axes}, e.g. to
+ * find the timestamp or stage position of a resampled or registered plane.
+ * {@link AnalyticMetadataItem}s are evaluated in closed form instead.
+ * </p>
+ * <p>
+ * {@link #getDouble(double...)} et al. are convenient for single queries;
+ * many queries are best made through one {@link #realRandomAccess()}, which
+ * evaluates without allocation.
+ * </p>
+ *
+ * @see Metadata#interpolate(MetadataItem, Interpolation)
+ */
+public interface RealMetadataItem extends RealRandomAccessible<DoubleType> {
+
+	/**
+	 * How values between the integer positions of a {@link MetadataItem} are
+	 * computed.
+	 */
+	enum Interpolation {
+		/** The value at the nearest integer position. */
+		NEAREST_NEIGHBOR,
+		/** Linear interpolation along each varying axis. */
+		LINEAR
+	}
+
+	/**
+	 * Returns the key identifying this piece of metadata
+	 * @return the key
+	 */
+	String name();
+
+	/**
+	 * @return the dataset axes this metadata pertains to.
+	 * @see MetadataItem#attachedAxes()
+	 */
+	int[] attachedAxes();
+
+	/**
+	 * @return the dataset axes along which this metadata varies.
+	 * @see MetadataItem#varyingAxes()
+	 */
+	int[] varyingAxes();
+
+	/**
+	 * @return the {@link Interpolation} between integer positions.
+	 */
+	Interpolation interpolation();
+
+	/**
+	 * Returns the value of the metadata at position {@code pos}.
+	 *
+	 * @param pos a position in the {@code n}-dimensional metadata space.
+	 * @return the (interpolated) value at {@code pos}.
+	 */
+	double getDouble(double... pos);
+
+	/**
+	 * Returns the value of the metadata at position {@code pos}.
+	 *
+	 * @param pos a position in the {@code n}-dimensional metadata space.
+	 * @return the (interpolated) value at {@code pos}.
+	 */
+	double getDouble(RealLocalizable pos);
+}
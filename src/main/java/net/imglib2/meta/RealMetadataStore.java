@@ -0,0 +1,96 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.EuclideanSpace;
+import net.imglib2.type.numeric.RealType;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides the metadata of a {@link MetadataStore} at real coordinates, as
+ * needed by {@link RealDataset}s.
+ * <p>
+ * Numeric items are interpolated into {@link RealMetadataItem}s. All other
+ * metadata, such as names or axis types, does not depend on the position and
+ * remains available through {@link #source()}.
+ * </p>
+ */
+public class RealMetadataStore implements EuclideanSpace {
+
+	private final MetadataStore source;
+	private final RealMetadataItem.Interpolation interpolation;
+
+	public RealMetadataStore(MetadataStore source, RealMetadataItem.Interpolation interpolation) {
+		this.source = source;
+		this.interpolation = interpolation;
+	}
+
+	/**
+	 * @return the {@link MetadataStore} whose items are interpolated.
+	 */
+	public MetadataStore source() {
+		return source;
+	}
+
+	/**
+	 * @return the {@link RealMetadataItem.Interpolation} applied to numeric items.
+	 */
+	public RealMetadataItem.Interpolation interpolation() {
+		return interpolation;
+	}
+
+	/**
+	 * Returns numeric metadata at real coordinates.
+	 *
+	 * @param key the {@link String} key identifying the metadata
+	 * @param dims the axes the metadata is attached to
+	 * @return the metadata identified by {@code key}, interpolated at real coordinates
+	 * @throws NoSuchElementException if there is no numeric metadata identified by {@code key} attached to {@code dims}
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public RealMetadataItem item(String key, int... dims) {
+		final MetadataItem<? extends RealType<?>> item = (MetadataItem) source.item(key, RealType.class, dims);
+		if (!item.isPresent()) {
+			throw new NoSuchElementException("No numeric metadata \"" + key + "\" attached to axes " + Arrays.toString(dims));
+		}
+		return Metadata.interpolate(item, interpolation);
+	}
+
+	@Override
+	public int numDimensions() {
+		return source.numDimensions();
+	}
+}
@@ -0,0 +1,291 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Interval;
+import net.imglib2.Localizable;
+import net.imglib2.Point;
+import net.imglib2.RandomAccess;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The {@link RunLengthMetadataItem} implementation, created by {@link Metadata#runLength}.
+ */
+class RunLengthItem<T> implements RunLengthMetadataItem<T> {
+
+    final String name;
+    final Class<T> type;
+    final int numDimensions;
+    final int axis;
+    final int[] attachedAxes;
+    final long attachedMask;
+    final int[] varyingAxes;
+    final long varyingMask;
+
+    // The first position of each run, in increasing order, and the value of each run
+    long[] starts = new long[8];
+    Object[] values = new Object[8];
+    int runs;
+    long length;
+
+    RunLengthItem(final String name, final Class<T> type, final int numDimensions, final int axis, final int... attachedAxes) {
+        this.name = name;
+        this.type = type;
+        this.numDimensions = numDimensions;
+        this.axis = axis;
+        this.attachedAxes = attachedAxes;
+        this.attachedMask = Metadata.axisMask(attachedAxes);
+        this.varyingAxes = new int[] {axis};
+        this.varyingMask = Metadata.axisMask(varyingAxes);
+    }
+
+    /** @return the index of the run containing {@code pos}, trying run {@code hint} and its successor first */
+    private int locate(final long pos, final int hint) {
+        if (pos < 0 || pos >= length) {
+            throw new IndexOutOfBoundsException("Position " + pos + " is outside of [0, " + length + ")");
+        }
+        if (hint < runs && starts[hint] <= pos) {
+            if (hint + 1 == runs || pos < starts[hint + 1]) return hint;
+            if (hint + 2 == runs || pos < starts[hint + 2]) return hint + 1;
+        }
+        final int i = Arrays.binarySearch(starts, 0, runs, pos);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private T get(final long pos) {
+        //noinspection unchecked
+        return (T) values[locate(pos, runs)];
+    }
+
+    private void set(final long pos, final T value) {
+        if (pos == length) {
+            append(value, 1);
+            return;
+        }
+        int r = locate(pos, runs);
+        final Object old = values[r];
+        if (Objects.equals(old, value)) {
+            return;
+        }
+        final long runEnd = r + 1 < runs ? starts[r + 1] : length;
+        // Let run r be [pos, pos + 1), keeping the remainders of the old run around it
+        if (pos > starts[r]) {
+            insert(++r, pos, value);
+        }
+        else {
+            values[r] = value;
+        }
+        if (pos + 1 < runEnd) {
+            insert(r + 1, pos + 1, old);
+        }
+        // Merge with equal neighbors
+        if (r + 1 < runs && Objects.equals(values[r + 1], value)) {
+            remove(r + 1);
+        }
+        if (r > 0 && Objects.equals(values[r - 1], value)) {
+            remove(r);
+        }
+    }
+
+    private void insert(final int run, final long start, final Object value) {
+        if (runs == starts.length) {
+            starts = Arrays.copyOf(starts, 2 * runs);
+            values = Arrays.copyOf(values, 2 * runs);
+        }
+        System.arraycopy(starts, run, starts, run + 1, runs - run);
+        System.arraycopy(values, run, values, run + 1, runs - run);
+        starts[run] = start;
+        values[run] = value;
+        runs++;
+    }
+
+    private void remove(final int run) {
+        System.arraycopy(starts, run + 1, starts, run, runs - run - 1);
+        System.arraycopy(values, run + 1, values, run, runs - run - 1);
+        values[--runs] = null;
+    }
+
+    @Override
+    public void append(T value, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot append " + count + " positions");
+        }
+        if (count == 0) {
+            return;
+        }
+        if (runs == 0 || !Objects.equals(values[runs - 1], value)) {
+            insert(runs, length, value);
+        }
+        length += count;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int axis() {
+        return axis;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public int numRuns() {
+        return runs;
+    }
+
+    @Override
+    public long runStart(int run) {
+        if (run >= runs) {
+            throw new IndexOutOfBoundsException("Run " + run + " of " + runs);
+        }
+        return starts[run];
+    }
+
+    @Override
+    public T runValue(int run) {
+        if (run >= runs) {
+            throw new IndexOutOfBoundsException("Run " + run + " of " + runs);
+        }
+        //noinspection unchecked
+        return (T) values[run];
+    }
+
+    @Override
+    public T getAt(long... position) {
+        return get(position[axis]);
+    }
+
+    @Override
+    public T getAt(int... position) {
+        return get(position[axis]);
+    }
+
+    @Override
+    public T getAt(Localizable position) {
+        return get(position.getLongPosition(axis));
+    }
+
+    @Override
+    public void setAt(T value, int... position) {
+        set(position[axis], value);
+    }
+
+    @Override
+    public void setAt(T value, long... position) {
+        set(position[axis], value);
+    }
+
+    @Override
+    public void setAt(T value, Localizable position) {
+        set(position.getLongPosition(axis), value);
+    }
+
+    @Override
+    public int[] attachedAxes() {
+        return attachedAxes;
+    }
+
+    @Override
+    public long attachedAxesMask() {
+        return attachedMask;
+    }
+
+    @Override
+    public int[] varyingAxes() {
+        return varyingAxes;
+    }
+
+    @Override
+    public long varyingAxesMask() {
+        return varyingMask;
+    }
+
+    @Override
+    public Class<?> valueClass() {
+        return type;
+    }
+
+    @Override
+    public RandomAccess<T> randomAccess() {
+        return new RunLengthRandomAccess();
+    }
+
+    @Override
+    public RandomAccess<T> randomAccess(Interval interval) {
+        return randomAccess();
+    }
+
+    @Override
+    public int numDimensions() {
+        return numDimensions;
+    }
+
+    @Override
+    public String toString() {
+        return "RunLengthItem \"" + name + "\"; varying along axis " + axis + "; " + runs + " runs over " + length + " positions";
+    }
+
+    class RunLengthRandomAccess extends Point implements RandomAccess<T> {
+
+        // The run of the last access
+        int run;
+
+        RunLengthRandomAccess() {
+            super(numDimensions);
+        }
+
+        @Override
+        public T get() {
+            run = locate(getLongPosition(axis), run);
+            //noinspection unchecked
+            return (T) values[run];
+        }
+
+        @Override
+        public RandomAccess<T> copy() {
+            RunLengthRandomAccess copy = new RunLengthRandomAccess();
+            copy.setPosition(this);
+            copy.run = run;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+/**
+ * A {@link MetadataItem} varying along one axis, whose values are stored as
+ * runs of equal values.
+ * <p>
+ * Such items suit piecewise constant metadata, e.g. an exposure time that
+ * changes every few hundred frames: memory scales with the number of runs,
+ * rather than with the axis length. Positions along the axis start at
+ * {@code 0}, and end at {@link #length()}, which grows as values are
+ * {@link #append(Object, long) appended}.
+ * </p>
+ *
+ * @param <T> the type of metadata values.
+ * @see Metadata#runLength(String, Class, int, int, int...)
+ */
+public interface RunLengthMetadataItem<T> extends MetadataItem<T> {
+
+	/**
+	 * @return the axis this metadata varies along.
+	 */
+	int axis();
+
+	/**
+	 * @return the number of positions along {@link #axis()} that have a value.
+	 */
+	long length();
+
+	/**
+	 * @return the number of runs of equal values.
+	 */
+	int numRuns();
+
+	/**
+	 * @param run the index of a run, in {@code [0, numRuns())}.
+	 * @return the position along {@link #axis()} at which run {@code run} starts.
+	 */
+	long runStart(int run);
+
+	/**
+	 * @param run the index of a run, in {@code [0, numRuns())}.
+	 * @return the value of each position of run {@code run}.
+	 */
+	T runValue(int run);
+
+	/**
+	 * Appends {@code count} positions of value {@code value} along
+	 * {@link #axis()}, extending the last run if it has the same value.
+	 *
+	 * @param value the value of the appended positions.
+	 * @param count the number of positions to append.
+	 */
+	void append(T value, long count);
+}
@@ -48,6 +48,8 @@ public class SimpleMetadataStore implements MetadataStore {
 
 	private final List<MetadataItem<?>> items;
 	private final int numDims;
+	private final InfoCache infos = new InfoCache(this);
+	private long modCount;
 
 	public SimpleMetadataStore(int n) {
 		this.items = new ArrayList<>();
@@ -65,16 +67,51 @@ public class SimpleMetadataStore implements MetadataStore {
 		return items.stream() //
 			.filter(item -> item.name().equals(name))
 			.filter(item -> item.isAttachedTo(dims)) //
-			.filter(item -> ofType == null || ofType.isInstance(item.getType()))
+			.filter(item -> ofType == null || item.isOfType(ofType))
 			.map(item -> (MetadataItem<T>) item)
 			.findFirst().orElseGet(() -> Metadata.absent(name, numDimensions(), dims));
 	}
 
     @Override
     public <T> void add(MetadataItem<T> item) {
+        modCount++;
         items.add(item);
     }
 
+    @Override
+    public <T> void put(MetadataItem<T> item) {
+        modCount++;
+        int first = -1;
+        for (int i = items.size() - 1; i >= 0; i--) {
+            MetadataItem<?> existing = items.get(i);
+            if (existing.name().equals(item.name()) && existing.isAttachedTo(item.attachedAxes())) {
+                if (first != -1) items.remove(first);
+                first = i;
+            }
+        }
+        if (first == -1) items.add(item);
+        else items.set(first, item);
+    }
+
+    @Override
+    public boolean remove(String key, int... attachedAxes) {
+        final boolean removed = items.removeIf(item -> item.name().equals(key) && item.isAttachedTo(attachedAxes));
+        if (removed) {
+            modCount++;
+        }
+        return removed;
+    }
+
+	@Override
+	public <T extends HasMetadataStore> T info(Class<T> infoClass) {
+		return infos.get(infoClass);
+	}
+
+	@Override
+	public long modificationCount() {
+		return modCount;
+	}
+
 	@Override
 	public int numDimensions() {
 		return numDims;
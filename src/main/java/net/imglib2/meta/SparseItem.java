@@ -0,0 +1,244 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Interval;
+import net.imglib2.Localizable;
+import net.imglib2.Point;
+import net.imglib2.RandomAccess;
+
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * The {@link SparseMetadataItem} implementation, created by {@link Metadata#sparse}.
+ */
+class SparseItem<T> implements SparseMetadataItem<T> {
+
+    final String name;
+    final Class<T> type;
+    final T defaultValue;
+    final int numDimensions;
+    final int axis;
+    final int[] attachedAxes;
+    final long attachedMask;
+    final int[] varyingAxes;
+    final long varyingMask;
+
+    // Positions with a value, in increasing order, and their values
+    long[] keys = new long[8];
+    Object[] values = new Object[8];
+    int size;
+
+    SparseItem(final String name, final Class<T> type, final T defaultValue, final int numDimensions, final int axis, final int... attachedAxes) {
+        this.name = name;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.numDimensions = numDimensions;
+        this.axis = axis;
+        this.attachedAxes = attachedAxes;
+        this.attachedMask = Metadata.axisMask(attachedAxes);
+        this.varyingAxes = new int[] {axis};
+        this.varyingMask = Metadata.axisMask(varyingAxes);
+    }
+
+    private T get(final long key) {
+        final int i = Arrays.binarySearch(keys, 0, size, key);
+        //noinspection unchecked
+        return i >= 0 ? (T) values[i] : defaultValue;
+    }
+
+    private void set(final long key, final T value) {
+        // Appending is the common case, e.g. when annotating frames as they are acquired
+        int i = size == 0 || keys[size - 1] < key ? -size - 1 : Arrays.binarySearch(keys, 0, size, key);
+        if (i >= 0) {
+            values[i] = value;
+            return;
+        }
+        i = -i - 1;
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, 2 * size);
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(values, i, values, i + 1, size - i);
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public T defaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public int axis() {
+        return axis;
+    }
+
+    @Override
+    public int numValues() {
+        return size;
+    }
+
+    @Override
+    public boolean hasValueAt(long pos) {
+        return Arrays.binarySearch(keys, 0, size, pos) >= 0;
+    }
+
+    @Override
+    public boolean unsetAt(long pos) {
+        final int i = Arrays.binarySearch(keys, 0, size, pos);
+        if (i < 0) {
+            return false;
+        }
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        values[--size] = null;
+        return true;
+    }
+
+    @Override
+    public void forEachValue(ObjLongConsumer<? super T> action) {
+        for (int i = 0; i < size; i++) {
+            //noinspection unchecked
+            action.accept((T) values[i], keys[i]);
+        }
+    }
+
+    @Override
+    public T getAt(long... position) {
+        return get(position[axis]);
+    }
+
+    @Override
+    public T getAt(int... position) {
+        return get(position[axis]);
+    }
+
+    @Override
+    public T getAt(Localizable position) {
+        return get(position.getLongPosition(axis));
+    }
+
+    @Override
+    public void setAt(T value, int... position) {
+        set(position[axis], value);
+    }
+
+    @Override
+    public void setAt(T value, long... position) {
+        set(position[axis], value);
+    }
+
+    @Override
+    public void setAt(T value, Localizable position) {
+        set(position.getLongPosition(axis), value);
+    }
+
+    @Override
+    public int[] attachedAxes() {
+        return attachedAxes;
+    }
+
+    @Override
+    public long attachedAxesMask() {
+        return attachedMask;
+    }
+
+    @Override
+    public int[] varyingAxes() {
+        return varyingAxes;
+    }
+
+    @Override
+    public long varyingAxesMask() {
+        return varyingMask;
+    }
+
+    @Override
+    public Class<?> valueClass() {
+        return type;
+    }
+
+    @Override
+    public T getType() {
+        return size > 0 ? get(keys[0]) : defaultValue;
+    }
+
+    @Override
+    public RandomAccess<T> randomAccess() {
+        return new SparseRandomAccess();
+    }
+
+    @Override
+    public RandomAccess<T> randomAccess(Interval interval) {
+        return randomAccess();
+    }
+
+    @Override
+    public int numDimensions() {
+        return numDimensions;
+    }
+
+    @Override
+    public String toString() {
+        return "SparseItem \"" + name + "\"; varying along axis " + axis + "; " + size + " values";
+    }
+
+    class SparseRandomAccess extends Point implements RandomAccess<T> {
+
+        SparseRandomAccess() {
+            super(numDimensions);
+        }
+
+        @Override
+        public T get() {
+            return SparseItem.this.get(getLongPosition(axis));
+        }
+
+        @Override
+        public RandomAccess<T> copy() {
+            SparseRandomAccess copy = new SparseRandomAccess();
+            copy.setPosition(this);
+            return copy;
+        }
+    }
+}
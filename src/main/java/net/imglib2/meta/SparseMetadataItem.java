@@ -0,0 +1,93 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A {@link MetadataItem} varying along one axis, holding values at only a few
+ * of its positions.
+ * <p>
+ * Such items suit annotations of very long but sparsely populated axes, e.g.
+ * events marking a few frames of a long time series. Positions without a
+ * value report a {@link #defaultValue() default value}, and memory scales
+ * with the number of positions that have one.
+ * </p>
+ *
+ * @param <T> the type of metadata values.
+ * @see Metadata#sparse(String, Class, Object, int, int, int...)
+ */
+public interface SparseMetadataItem<T> extends MetadataItem<T> {
+
+	/**
+	 * @return the value reported at positions without a value of their own.
+	 */
+	T defaultValue();
+
+	/**
+	 * @return the axis this metadata varies along.
+	 */
+	int axis();
+
+	/**
+	 * @return the number of positions along {@link #axis()} that have a value.
+	 */
+	int numValues();
+
+	/**
+	 * Tests whether position {@code pos} along {@link #axis()} has a value.
+	 *
+	 * @param pos a position along {@link #axis()}.
+	 * @return true iff a value was set at {@code pos}.
+	 */
+	boolean hasValueAt(long pos);
+
+	/**
+	 * Removes the value at {@code pos} along {@link #axis()}, such that the
+	 * {@link #defaultValue() default value} is reported there again.
+	 *
+	 * @param pos a position along {@link #axis()}.
+	 * @return true iff a value was set at {@code pos}.
+	 */
+	boolean unsetAt(long pos);
+
+	/**
+	 * Performs {@code action} on each value that was set, with its position
+	 * along {@link #axis()}, in order of increasing position. Positions without
+	 * a value are skipped.
+	 *
+	 * @param action the action to perform.
+	 */
+	void forEachValue(ObjLongConsumer<? super T> action);
+}
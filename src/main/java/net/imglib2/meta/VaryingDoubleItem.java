@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Interval;
+import net.imglib2.Localizable;
+import net.imglib2.RandomAccessible;
+import net.imglib2.type.numeric.real.DoubleType;
+
+/**
+ * A {@link DoubleMetadataItem} backed by a {@code double[]}.
+ */
+class VaryingDoubleItem extends Metadata.VaryingItem<DoubleType, RandomAccessible<DoubleType>> implements DoubleMetadataItem {
+
+    final double[] values;
+    final ArrayIndex index;
+
+    VaryingDoubleItem(final String name, final double[] values, final ArrayIndex index, final RandomAccessible<DoubleType> img, final int numDimensions, final int[] varyingAxes, final int... attachedAxes) {
+        super(name, DoubleType.class, img, (pos, value) -> values[index.ofSource(pos)] = value.get(), numDimensions, varyingAxes, attachedAxes);
+        this.values = values;
+        this.index = index;
+    }
+
+    @Override
+    public double getDouble(long... pos) {
+        return values[index.of(pos)];
+    }
+
+    @Override
+    public double getDouble(Localizable pos) {
+        return values[index.of(pos)];
+    }
+
+    @Override
+    public double doubleValue() {
+        // The origin of the metadata space is the first value
+        return values[0];
+    }
+
+    @Override
+    public double[] toDoubleArray(Interval region) {
+        final double[] extracted = new double[Metadata.regionSize(this, region)];
+        index.copy(values, region, extracted);
+        return extracted;
+    }
+}
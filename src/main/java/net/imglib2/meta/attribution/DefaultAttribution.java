@@ -33,25 +33,46 @@
  */
 package net.imglib2.meta.attribution;
 
+import net.imglib2.meta.InfoProvider;
+import net.imglib2.meta.MetadataKey;
 import net.imglib2.meta.MetadataStore;
 
-import java.util.NoSuchElementException;
-
 public class DefaultAttribution implements Attribution {
-	private MetadataStore metaData;
+	private static final MetadataKey<String> AUTHOR_KEY = MetadataKey.of(AUTHOR, String.class);
+	private static final MetadataKey<String> CITATION_KEY = MetadataKey.of(CITATION, String.class);
 
-	@Override
-	public void setStore(MetadataStore metaData) {
+	private final MetadataStore metaData;
+
+	public DefaultAttribution(MetadataStore metaData) {
 		this.metaData = metaData;
 	}
 
+	@Override
+	public MetadataStore store() {
+		return metaData;
+	}
+
 	@Override
 	public String author() {
-        return metaData.item(AUTHOR, String.class).valueOr(null);
+        return metaData.item(AUTHOR_KEY).valueOrNull();
 	}
 
 	@Override
 	public String citation() {
-        return metaData.item(CITATION, String.class).valueOr(null);
+        return metaData.item(CITATION_KEY).valueOrNull();
+	}
+
+	/** Provides {@link DefaultAttribution}s to {@link net.imglib2.meta.InfoRegistry}. */
+	public static final class Provider implements InfoProvider<Attribution> {
+
+		@Override
+		public Class<Attribution> infoClass() {
+			return Attribution.class;
+		}
+
+		@Override
+		public Attribution create(MetadataStore store) {
+			return new DefaultAttribution(store);
+		}
 	}
 }
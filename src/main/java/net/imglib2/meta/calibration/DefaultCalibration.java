@@ -33,33 +33,41 @@
  */
 package net.imglib2.meta.calibration;
 
+import net.imglib2.meta.InfoProvider;
+import net.imglib2.meta.MetadataKey;
 import net.imglib2.meta.MetadataStore;
 
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 public class DefaultCalibration implements Calibration {
-	private MetadataStore metaData;
+	private static final MetadataKey<Axis> AXIS_KEY = MetadataKey.of(AXIS, Axis.class);
 
-    @Override
-	public void setStore(MetadataStore store) {
+	private final MetadataStore metaData;
+
+	public DefaultCalibration(MetadataStore store) {
 		this.metaData = store;
 	}
 
+    @Override
+	public MetadataStore store() {
+		return metaData;
+	}
+
 	@Override
 	public Axis axis(final int d) {
 		if (d >= metaData.numDimensions()) {
 			throw new NoSuchElementException("Metadata is only " + metaData.numDimensions() + "-dimensional!");
 		}
-		return metaData.item(AXIS, Axis.class, d) //
-            .valueOr(new DefaultLinearAxis(Axes.unknown(), 1, 0));
+		Axis axis = metaData.item(AXIS_KEY, d).valueOrNull();
+		return axis != null ? axis : new DefaultLinearAxis(Axes.unknown(), 1, 0);
 	}
 
 
 	@Override
 	public void setAxis(final Axis axis, final int d) {
-        metaData.add(AXIS, axis, d);
-        metaData.add(AXIS_DATA, axis.data(), new int[] {d}, d);
+        metaData.put(AXIS_KEY, axis, d);
+        metaData.put(AXIS_DATA, axis.data(), new int[] {d}, d);
 	}
 
 	@Override
@@ -71,4 +79,18 @@ public class DefaultCalibration implements Calibration {
 		}
 		return Optional.empty();
 	}
+
+	/** Provides {@link DefaultCalibration}s to {@link net.imglib2.meta.InfoRegistry}. */
+	public static final class Provider implements InfoProvider<Calibration> {
+
+		@Override
+		public Class<Calibration> infoClass() {
+			return Calibration.class;
+		}
+
+		@Override
+		public Calibration create(MetadataStore store) {
+			return new DefaultCalibration(store);
+		}
+	}
 }
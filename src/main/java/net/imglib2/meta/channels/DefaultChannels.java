@@ -37,6 +37,8 @@ import net.imglib2.Point;
 import net.imglib2.display.ColorTable;
 import net.imglib2.meta.Metadata;
 import net.imglib2.meta.MetadataItem;
+import net.imglib2.meta.InfoProvider;
+import net.imglib2.meta.MetadataKey;
 import net.imglib2.meta.MetadataStore;
 import net.imglib2.meta.calibration.Axes;
 
@@ -46,24 +48,29 @@ import java.util.function.Supplier;
 
 public class DefaultChannels implements Channels {
 
+	private static final MetadataKey<ColorTable> CHANNEL_KEY = MetadataKey.of(CHANNEL, ColorTable.class);
+	private static final MetadataKey<Boolean> IS_RGB_KEY = MetadataKey.of(RGB_KEY, Boolean.class);
+
 	private static final Supplier<RuntimeException> NO_CHANNEL_AXIS_YET = //
 			() -> new RuntimeException("The channel axis has not yet been set!");
 
-	private MetadataStore metaData;
+	private final MetadataStore metaData;
 
-	private final Supplier<Point> pointSupplier = //
-			() -> new Point(metaData.numDimensions());
+	private final ThreadLocal<Point> pointCache;
 
-	private final ThreadLocal<Point> pointCache = ThreadLocal.withInitial(pointSupplier);
+	public DefaultChannels(MetadataStore store) {
+		this.metaData = store;
+		this.pointCache = ThreadLocal.withInitial(() -> new Point(store.numDimensions()));
+	}
 
 	@Override
-	public void setStore(MetadataStore store) {
-		this.metaData = store;
+	public MetadataStore store() {
+		return metaData;
 	}
 
 	@Override
 	public ColorTable lut(int c) {
-        MetadataItem<ColorTable> item = metaData.item(CHANNEL, ColorTable.class);
+        MetadataItem<ColorTable> item = metaData.item(CHANNEL_KEY);
         int[] varyingAxes = item.varyingAxes();
         if (varyingAxes.length == 1) {
             int lutAxis = varyingAxes[0];
@@ -86,7 +93,7 @@ public class DefaultChannels implements Channels {
 		int axis = Metadata.calibration(this.metaData)
 				.indexOf(Axes.CHANNEL)
 				.orElseThrow(NO_CHANNEL_AXIS_YET);
-		MetadataItem<ColorTable> item = metaData.item(CHANNEL, ColorTable.class).or(() -> {
+		MetadataItem<ColorTable> item = metaData.item(CHANNEL_KEY).or(() -> {
             // Create the item if it doesn't exist yet, and returnthat.
             // FIXME: This should really be a ListImg, but we don't know the number of channels (yet)
             ColorTableRAI newLut = new ColorTableRAI();
@@ -94,13 +101,14 @@ public class DefaultChannels implements Channels {
             // getType requires an element already in the map for that to work.
             newLut.setLut(c, lut);
             // FIXME: This is kind of a HACK :)
-            metaData.add(
-                CHANNEL,
+            metaData.add(Metadata.varying(
+                CHANNEL_KEY,
                 newLut,
-                (pos, table) -> newLut.setLut(pos.getIntPosition(axis), table),
+                metaData.numDimensions(),
+                (pos, table) -> newLut.setLut(pos.getIntPosition(0), table),
                 new int[] {axis}
-            );
-            return metaData.item(CHANNEL, ColorTable.class);
+            ));
+            return metaData.item(CHANNEL_KEY);
         });
         Point point = pointCache.get();
         for (int i = 0; i < point.numDimensions(); i++) {
@@ -111,12 +119,25 @@ public class DefaultChannels implements Channels {
 
 	@Override
 	public boolean isRGB() {
-        return metaData.item(RGB_KEY, Boolean.class).valueOr(Boolean.FALSE);
+        return metaData.item(IS_RGB_KEY).valueOr(Boolean.FALSE);
 	}
 
 	@Override
 	public void setRGB(boolean isRGB) {
-		metaData.add(RGB_KEY, isRGB);
+		metaData.put(IS_RGB_KEY, isRGB);
 	}
 
+	/** Provides {@link DefaultChannels}s to {@link net.imglib2.meta.InfoRegistry}. */
+	public static final class Provider implements InfoProvider<Channels> {
+
+		@Override
+		public Class<Channels> infoClass() {
+			return Channels.class;
+		}
+
+		@Override
+		public Channels create(MetadataStore store) {
+			return new DefaultChannels(store);
+		}
+	}
 }
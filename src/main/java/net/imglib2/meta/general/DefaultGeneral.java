@@ -33,21 +33,46 @@
  */
 package net.imglib2.meta.general;
 
+import net.imglib2.meta.InfoProvider;
+import net.imglib2.meta.MetadataKey;
 import net.imglib2.meta.MetadataStore;
 
 public class DefaultGeneral implements General{
-    private MetadataStore metaData;
+    private static final MetadataKey<String> NAME_KEY = MetadataKey.of(NAME, String.class);
+    private static final MetadataKey<String> DESCRIPTION_KEY = MetadataKey.of(DESCRIPTION, String.class);
+
+    private final MetadataStore metaData;
+
+    public DefaultGeneral(MetadataStore metaData) {
+        this.metaData = metaData;
+    }
 
     @Override
     public String name() {
-        return metaData.item("name", String.class).valueOr(null);
+        return metaData.item(NAME_KEY).valueOrNull();
     }
 
     @Override
     public String description() {
-        return metaData.item("description", String.class).valueOr(null);
+        return metaData.item(DESCRIPTION_KEY).valueOrNull();
     }
 
     @Override
-    public void setStore(MetadataStore metaData) {this.metaData = metaData;}
+    public MetadataStore store() {
+        return metaData;
+    }
+
+	/** Provides {@link DefaultGeneral}s to {@link net.imglib2.meta.InfoRegistry}. */
+	public static final class Provider implements InfoProvider<General> {
+
+		@Override
+		public Class<General> infoClass() {
+			return General.class;
+		}
+
+		@Override
+		public General create(MetadataStore store) {
+			return new DefaultGeneral(store);
+		}
+	}
 }
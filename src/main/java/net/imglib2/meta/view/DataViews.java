@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta.view;
+
+import net.imglib2.Interval;
+import net.imglib2.RandomAccessible;
+import net.imglib2.transform.integer.Mixed;
+import net.imglib2.transform.integer.MixedTransform;
+import net.imglib2.view.IntervalView;
+import net.imglib2.view.MixedTransformView;
+
+/**
+ * Builds the pixel data of {@link DatasetView}s, the way {@link MetadataStoreView} builds their metadata: transforms
+ * and intervals applied to a view are folded into that view, rather than wrapped around it. However many operations
+ * are chained, the data of a {@link DatasetView} is thus at most an {@link IntervalView} on a
+ * {@link MixedTransformView} on the data it was first created from.
+ */
+final class DataViews {
+
+	private DataViews() {
+		// Prevent instantiation of static utility class
+	}
+
+	/**
+	 * @return {@code data} viewed through {@code transform}, concatenated with the transform of {@code data} if it
+	 *         already is a {@link MixedTransformView}
+	 */
+	static <T> MixedTransformView<T> transform(RandomAccessible<T> data, Mixed transform) {
+		// The interval of data is irrelevant to the new view, which defines its own
+		final RandomAccessible<T> unbounded = unwrapInterval(data);
+		if (unbounded instanceof MixedTransformView) {
+			final MixedTransformView<T> view = (MixedTransformView<T>) unbounded;
+			final MixedTransform concatenated = view.getTransformToSource().concatenate(transform);
+			return new MixedTransformView<>(view.getSource(), concatenated);
+		}
+		return new MixedTransformView<>(data, transform);
+	}
+
+	/**
+	 * @return {@code data} restricted to {@code interval}, replacing the interval of {@code data} if it already is an
+	 *         {@link IntervalView}
+	 */
+	static <T> IntervalView<T> interval(RandomAccessible<T> data, Interval interval) {
+		return new IntervalView<>(unwrapInterval(data), interval);
+	}
+
+	private static <T> RandomAccessible<T> unwrapInterval(RandomAccessible<T> data) {
+		return data instanceof IntervalView ? ((IntervalView<T>) data).getSource() : data;
+	}
+}
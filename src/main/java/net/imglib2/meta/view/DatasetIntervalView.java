@@ -88,6 +88,10 @@ public interface DatasetIntervalView<T, V extends DatasetIntervalView<T, V>> ext
 
     /**
      * Creates a new {@link DatasetView} viewing an existing {@link Dataset} through a {@link Mixed} transform.
+     * <p>
+     * If {@code dataset} is itself a view through a {@link Mixed} transform, both its data and its metadata are
+     * flattened into a single view through the concatenated transforms.
+     * </p>
      *
      * @param <T> the type of pixels contained within {@code delegate}
      * @param dataset an existing {@link Dataset}
@@ -96,7 +100,7 @@ public interface DatasetIntervalView<T, V extends DatasetIntervalView<T, V>> ext
      */
 	static <T> DatasetIntervalView<T, ?> wrap(Dataset<T> dataset, Interval interval, Mixed tform) {
 		return wrap(
-			new IntervalView<>(new MixedTransformView<>(dataset.data(), tform), interval),
+			DataViews.interval(DataViews.transform(dataset.data(), tform), interval),
             new MetadataStoreView(dataset.store(), tform)
 		);
 	}
@@ -231,25 +235,25 @@ public interface DatasetIntervalView<T, V extends DatasetIntervalView<T, V>> ext
 	@Override
 	default Cursor< T > cursor()
 	{
-		return new RandomAccessibleIntervalCursor<>( this.delegate() );
+		return DatasetInterval.super.cursor();
 	}
 
 	@Override
 	default Cursor< T > localizingCursor()
 	{
-		return cursor();
+		return DatasetInterval.super.localizingCursor();
 	}
 
 	@Override
 	default long size()
 	{
-		return Intervals.numElements( this );
+		return DatasetInterval.super.size();
 	}
 
 	@Override
 	default Object iterationOrder()
 	{
-		return new FlatIterationOrder( this );
+		return DatasetInterval.super.iterationOrder();
 	}
 
     @Override
@@ -7,14 +7,14 @@ import net.imglib2.converter.Converter;
 import net.imglib2.converter.Converters;
 import net.imglib2.meta.Dataset;
 import net.imglib2.meta.MetadataStore;
+import net.imglib2.meta.RealMetadataItem;
+import net.imglib2.meta.RealMetadataStore;
 import net.imglib2.transform.integer.Mixed;
 import net.imglib2.util.Util;
-import net.imglib2.view.MixedTransformView;
 import net.imglib2.view.SubsampleView;
 import net.imglib2.view.ViewTransforms;
 import net.imglib2.view.Views;
 import net.imglib2.view.fluent.RandomAccessibleView;
-import net.imglib2.view.fluent.RealRandomAccessibleView;
 
 import java.util.function.Supplier;
 
@@ -57,6 +57,10 @@ public interface DatasetView<T, V extends DatasetView<T, V>> extends RandomAcces
 
     /**
      * Creates a new {@link DatasetView} viewing an existing {@link Dataset} through a {@link Mixed} transform.
+     * <p>
+     * If {@code dataset} is itself a view through a {@link Mixed} transform, both its data and its metadata are
+     * flattened into a single view through the concatenated transforms.
+     * </p>
      *
      * @param dataset an existing {@link Dataset}
      * @param tform a {@link Mixed} describing a data transformation
@@ -65,7 +69,7 @@ public interface DatasetView<T, V extends DatasetView<T, V>> extends RandomAcces
      */
     static <T> DatasetView<T, ?> wrap(Dataset<T> dataset, Mixed tform) {
         return wrap(
-                new MixedTransformView<>(dataset.data(), tform),
+                DataViews.transform(dataset.data(), tform),
                 new MetadataStoreView(dataset.store(), tform)
         );
     }
@@ -73,7 +77,7 @@ public interface DatasetView<T, V extends DatasetView<T, V>> extends RandomAcces
 
     @Override
     default DatasetIntervalView<T, ?> interval(Interval interval) {
-        return DatasetIntervalView.wrap(Views.interval(this.data(), interval), store());
+        return DatasetIntervalView.wrap(DataViews.interval(this.data(), interval), store());
     }
 
     @Override
@@ -128,9 +132,23 @@ public interface DatasetView<T, V extends DatasetView<T, V>> extends RandomAcces
     }
 
     @Override
-    default RealRandomAccessibleView<T, ?> interpolate(RandomAccessibleView.Interpolation<T> interpolation) {
-        // TODO: Return a RealDataset
-        return RandomAccessibleView.super.interpolate(interpolation);
+    default RealDatasetView<T, ?> interpolate(RandomAccessibleView.Interpolation<T> interpolation) {
+        return interpolate(interpolation, RealMetadataItem.Interpolation.LINEAR);
+    }
+
+    /**
+     * Interpolates this {@link DatasetView} into a {@link RealDatasetView}, whose numeric metadata is available at
+     * real coordinates.
+     *
+     * @param interpolation the interpolation of pixel data
+     * @param metadataInterpolation the interpolation of numeric metadata
+     * @return a {@link RealDatasetView} interpolating this {@link DatasetView}
+     */
+    default RealDatasetView<T, ?> interpolate(RandomAccessibleView.Interpolation<T> interpolation, RealMetadataItem.Interpolation metadataInterpolation) {
+        return RealDatasetView.wrap(
+                RandomAccessibleView.super.interpolate(interpolation),
+                new RealMetadataStore(store(), metadataInterpolation)
+        );
     }
 
     @Override
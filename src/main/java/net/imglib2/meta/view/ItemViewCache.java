@@ -0,0 +1,129 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta.view;
+
+import net.imglib2.meta.ItemLookup;
+import net.imglib2.meta.MetadataItem;
+import net.imglib2.meta.MetadataStore;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the items a view resolved from its source {@link MetadataStore}, while the source's
+ * {@link MetadataStore#modificationCount() modification count} stays the same.
+ * <p>
+ * Each result is stored with the count read before resolving it, so results resolved concurrently with a
+ * modification are never mistaken for current ones. Sources not tracking their modifications are not cached.
+ * Absent results are cached up to {@value #MAX_CACHED_ABSENT} at a time, so that probing many distinct keys does
+ * not grow the cache without bound.
+ * </p>
+ */
+final class ItemViewCache {
+
+	static final int MAX_CACHED_ABSENT = 1024;
+
+	private final MetadataStore source;
+	private final Map<ItemLookup, Resolved<MetadataItem<?>>> items = new ConcurrentHashMap<>();
+	private final AtomicInteger cachedAbsent = new AtomicInteger();
+	// The modification count of the source when the cached items were last cleared
+	private volatile long epoch;
+	private volatile Resolved<Collection<? extends MetadataItem<?>>> all;
+
+	ItemViewCache(MetadataStore source) {
+		this.source = source;
+	}
+
+	/**
+	 * @return the item resolved for key {@code name}, type {@code type} and axes {@code dims}; cached, or computed
+	 *         by {@code resolver}
+	 */
+	@SuppressWarnings("unchecked")
+	<T> MetadataItem<T> item(String name, Class<?> type, int[] dims, Supplier<MetadataItem<T>> resolver) {
+		final long count = source.modificationCount();
+		if (count < 0) {
+			return resolver.get();
+		}
+		if (count != epoch) {
+			// Results of earlier counts are stale; dropping them keeps modifications from piling them up
+			items.clear();
+			cachedAbsent.set(0);
+			epoch = count;
+		}
+		final Resolved<MetadataItem<?>> cached = items.get(new ItemLookup(name, type, dims));
+		if (cached != null && cached.count == count) {
+			return (MetadataItem<T>) cached.value;
+		}
+		final MetadataItem<T> item = resolver.get();
+		if (item.isPresent()) {
+			items.put(new ItemLookup(name, type, dims.clone()), new Resolved<>(count, item));
+		} else if (cachedAbsent.get() < MAX_CACHED_ABSENT) {
+			if (items.put(new ItemLookup(name, type, dims.clone()), new Resolved<>(count, item)) == null) {
+				cachedAbsent.incrementAndGet();
+			}
+		}
+		return item;
+	}
+
+	/**
+	 * @return all items of the view; cached, or computed by {@code resolver}
+	 */
+	Collection<? extends MetadataItem<?>> items(Supplier<Collection<? extends MetadataItem<?>>> resolver) {
+		final long count = source.modificationCount();
+		if (count < 0) {
+			return resolver.get();
+		}
+		final Resolved<Collection<? extends MetadataItem<?>>> cached = all;
+		if (cached != null && cached.count == count) {
+			return cached.value;
+		}
+		final Collection<? extends MetadataItem<?>> resolved = resolver.get();
+		all = new Resolved<>(count, resolved);
+		return resolved;
+	}
+
+	private static final class Resolved<V> {
+
+		private final long count;
+		private final V value;
+
+		Resolved(long count, V value) {
+			this.count = count;
+			this.value = value;
+		}
+	}
+}
@@ -1,8 +1,10 @@
 package net.imglib2.meta.view;
 
+import net.imglib2.FinalInterval;
+import net.imglib2.Interval;
 import net.imglib2.Localizable;
-import net.imglib2.Point;
 import net.imglib2.RandomAccessible;
+import net.imglib2.meta.Metadata;
 import net.imglib2.meta.MetadataItem;
 import net.imglib2.transform.integer.Mixed;
 import net.imglib2.transform.integer.MixedTransform;
@@ -11,11 +13,30 @@ import net.imglib2.view.ViewTransforms;
 import net.imglib2.view.fluent.RandomAccessibleView;
 
 import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 public class MetadataItemView<T> extends MixedTransformView<T> implements MetadataItem<T>, RandomAccessibleView<T, MetadataItemView<T>> {
     private final MetadataItem<T> source;
     private final MixedTransform transform;
+    private final int[] attachedAxes;
+    private final long attachedMask;
+    private final int[] varyingAxes;
+    private final long varyingMask;
+    // Constant sources have the same value everywhere, so positions need not be transformed
+    private final boolean constant;
+    // Precomputed transform: source[d] = translation[d] + sign[d] * view[component[d]], where sign[d] = 0 if sliced
+    private final long[] translation;
+    private final int[] component;
+    private final int[] sign;
+    // Source position per reading thread, so that concurrent reads neither allocate nor contend
+    private final ThreadLocal<long[]> sourcePositions;
+    private final Mixed attachedAxesTransform;
+    // The last Viewable value of the source, and its transform
+    private final Memo<T> memo = new Memo<>();
 
     public MetadataItemView(MetadataItem<T> source) {
         // Use an identity transform
@@ -27,6 +48,22 @@ public class MetadataItemView<T> extends MixedTransformView<T> implements Metada
         this.source = source;
         this.transform = new MixedTransform(transform.numSourceDimensions(), transform.numTargetDimensions());
         this.transform.set(transform);
+        this.attachedAxes = mapAxes(source.attachedAxes());
+        this.attachedMask = Metadata.axisMask(attachedAxes);
+        this.varyingAxes = mapAxes(source.varyingAxes());
+        this.varyingMask = Metadata.axisMask(varyingAxes);
+        this.constant = source.varyingAxesMask() == 0L;
+        final int n = transform.numTargetDimensions();
+        this.translation = new long[n];
+        this.component = new int[n];
+        this.sign = new int[n];
+        for (int d = 0; d < n; d++) {
+            translation[d] = transform.getTranslation(d);
+            component[d] = transform.getComponentMapping(d);
+            sign[d] = transform.getComponentZero(d) ? 0 : transform.getComponentInversion(d) ? -1 : 1;
+        }
+        this.sourcePositions = ThreadLocal.withInitial(() -> new long[n]);
+        this.attachedAxesTransform = getAttachedAxesTransform();
     }
 
     public MetadataItemView(MetadataItemView<T> source, MixedTransform transform) {
@@ -40,36 +77,145 @@ public class MetadataItemView<T> extends MixedTransformView<T> implements Metada
 
     @Override
     public int[] attachedAxes() {
-        return mapAxes(source.attachedAxes());
+        return attachedAxes;
+    }
+
+    @Override
+    public long attachedAxesMask() {
+        return attachedMask;
     }
 
     @Override
     public int[] varyingAxes() {
-        return mapAxes(source.varyingAxes());
+        return varyingAxes;
+    }
+
+    @Override
+    public long varyingAxesMask() {
+        return varyingMask;
     }
 
     private int[] mapAxes(int[] srcAxes) {
         // Map from source dimension to target dimension using inverse mapping
         // If a source dimension is sliced (not present in target), it should not appear in result
-        int[] targetVarying = new int[srcAxes.length];
+        int[] targetAxes = new int[srcAxes.length];
         int count = 0;
 
-        for(int i = 0; i < targetVarying.length; i++) {
-            int attachedDim = srcAxes[i];
-            if (transform.getComponentZero(attachedDim)) {
+        for (int srcAxis : srcAxes) {
+            if (transform.getComponentZero(srcAxis)) {
                 continue; // This target dimension is sliced out
             }
-            targetVarying[i] = transform.getComponentMapping(attachedDim);
-            count++;
+            targetAxes[count++] = transform.getComponentMapping(srcAxis);
         }
-        return Arrays.copyOf(targetVarying, count);
+        return count == targetAxes.length ? targetAxes : Arrays.copyOf(targetAxes, count);
     }
 
     @Override
     public T getAt(Localizable pos) {
-        final Point p = new Point(transform.numSourceDimensions());
-        transform.apply(pos, p);
-        return source.getAt(p);
+        if (constant) {
+            return source.value();
+        }
+        final long[] sourcePosition = sourcePositions.get();
+        for (int d = 0; d < sourcePosition.length; d++) {
+            sourcePosition[d] = sign[d] == 0 ? translation[d] : translation[d] + sign[d] * pos.getLongPosition(component[d]);
+        }
+        return source.getAt(sourcePosition);
+    }
+
+    @Override
+    public T getAt(long... pos) {
+        if (constant) {
+            return source.value();
+        }
+        final long[] sourcePosition = sourcePositions.get();
+        for (int d = 0; d < sourcePosition.length; d++) {
+            sourcePosition[d] = sign[d] == 0 ? translation[d] : translation[d] + sign[d] * pos[component[d]];
+        }
+        return source.getAt(sourcePosition);
+    }
+
+    @Override
+    public T getAt(int... pos) {
+        if (constant) {
+            return source.value();
+        }
+        final long[] sourcePosition = sourcePositions.get();
+        for (int d = 0; d < sourcePosition.length; d++) {
+            sourcePosition[d] = sign[d] == 0 ? translation[d] : translation[d] + sign[d] * pos[component[d]];
+        }
+        return source.getAt(sourcePosition);
+    }
+
+    // -- Bulk extraction -- //
+
+    /**
+     * Maps {@code region}, along the varying axes of this view, to the corresponding region along the varying axes of
+     * the source. Flat iteration order is preserved unless a varying axis is inverted.
+     *
+     * @return the source region, or {@code null} if a varying axis is inverted
+     */
+    private Interval sourceRegion(Interval region) {
+        final int[] srcAxes = source.varyingAxes();
+        if (region.numDimensions() != varyingAxes.length) {
+            return null;
+        }
+        final long[] min = new long[srcAxes.length];
+        final long[] max = new long[srcAxes.length];
+        int i = 0;
+        for (int d = 0; d < srcAxes.length; d++) {
+            final int srcAxis = srcAxes[d];
+            final long translation = transform.getTranslation(srcAxis);
+            if (transform.getComponentZero(srcAxis)) {
+                // Sliced axes contribute a single position
+                min[d] = max[d] = translation;
+                continue;
+            }
+            if (transform.getComponentInversion(srcAxis)) {
+                return null;
+            }
+            min[d] = translation + region.min(i);
+            max[d] = translation + region.max(i);
+            i++;
+        }
+        return new FinalInterval(min, max);
+    }
+
+    @Override
+    public void forEachVarying(Interval region, Consumer<? super T> action) {
+        final Interval sourceRegion = sourceRegion(region);
+        if (sourceRegion == null) {
+            MetadataItem.super.forEachVarying(region, action);
+        } else {
+            source.forEachVarying(sourceRegion, action);
+        }
+    }
+
+    @Override
+    public double[] toDoubleArray(Interval region, ToDoubleFunction<? super T> toDouble) {
+        final Interval sourceRegion = sourceRegion(region);
+        return sourceRegion == null ? MetadataItem.super.toDoubleArray(region, toDouble) : source.toDoubleArray(sourceRegion, toDouble);
+    }
+
+    @Override
+    public long[] toLongArray(Interval region, ToLongFunction<? super T> toLong) {
+        final Interval sourceRegion = sourceRegion(region);
+        return sourceRegion == null ? MetadataItem.super.toLongArray(region, toLong) : source.toLongArray(sourceRegion, toLong);
+    }
+
+    @Override
+    public T[] toArray(Interval region, IntFunction<T[]> generator) {
+        final Interval sourceRegion = sourceRegion(region);
+        return sourceRegion == null ? MetadataItem.super.toArray(region, generator) : source.toArray(sourceRegion, generator);
+    }
+
+    @Override
+    public boolean isPresent() {
+        return source.isPresent();
+    }
+
+    @Override
+    public Class<?> valueClass() {
+        return source.valueClass();
     }
 
     @Override
@@ -79,7 +225,7 @@ public class MetadataItemView<T> extends MixedTransformView<T> implements Metada
             return srcValueOr;
         }
         if (srcValueOr instanceof Viewable) {
-            return ((Viewable<T>) srcValueOr).transform(getAttachedAxesTransform());
+            return transformed(srcValueOr);
         }
         return srcValueOr;
     }
@@ -88,11 +234,21 @@ public class MetadataItemView<T> extends MixedTransformView<T> implements Metada
     public T value() {
         T srcValue = source.value();
         if (srcValue instanceof Viewable) {
-            return ((Viewable<T>) srcValue).transform(getAttachedAxesTransform());
+            return transformed(srcValue);
         }
         return srcValue;
     }
 
+    /**
+     * Transforms a {@link Viewable} value of the source into this view, reusing the previous result while the source
+     * value stays the same. {@link Viewable} values are thus assumed to be immutable.
+     */
+    @SuppressWarnings("unchecked")
+    private T transformed(T srcValue) {
+        final T last = memo.get(srcValue);
+        return last != null ? last : memo.put(srcValue, ((Viewable<T>) srcValue).transform(attachedAxesTransform));
+    }
+
     /**
      * Extracts the transform relevant to the attached axes of this metadata item.
      * @return
@@ -33,106 +33,25 @@
  */
 package net.imglib2.meta.view;
 
-import net.imglib2.meta.HasMetadataStore;
-import net.imglib2.meta.MetadataItem;
 import net.imglib2.meta.MetadataStore;
-import net.imglib2.view.SubsampleView;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
-
-public class MetadataStoreSubsampleView implements MetadataStore {
-
-	private final MetadataStore source;
-	private final long[] steps;
+/**
+ * A view on a {@link MetadataStore} subsampled along each dimension.
+ * <p>
+ * Like any {@link MetadataStoreView}, a subsample view of another view is flattened into a single view on the
+ * underlying source.
+ * </p>
+ */
+public class MetadataStoreSubsampleView extends MetadataStoreView {
 
 	public MetadataStoreSubsampleView(MetadataStore store, long[] steps) {
-		if (store.numDimensions() != steps.length) throw new IllegalArgumentException("BAD");
-		this.source = store;
-		this.steps = steps;
-	}
-
-    @Override
-    public Collection<? extends MetadataItem<?>> items() {
-        return source.items().stream() //
-                .map(this::itemView) //
-                .collect(Collectors.toList());
-    }
-
-	@Override
-	public <T> MetadataItem<T> item(String key, Class<T> ofType, int... dims) {
-		return itemView(source.item(key, ofType, dims));
-	}
-
-	@Override
-	public <T extends HasMetadataStore> T info(Class<T> infoClass) {
-		T srcStore = source.info(infoClass);
-		srcStore.setStore(this);
-		return srcStore;
-	}
-
-	@Override
-	public <T> void add(MetadataItem<T> item) {
-        // This theoretically would work...but it could have unintended consequences
-        // if the caller does not know it is a view. It's probably best to keep it read-only.
-        // If it is known to be a view, it's probably feasible to add the metadata to the source directly.
-        // Not to mention metadata backed by RAIs would require interpolation of sorts.
-        throw new UnsupportedOperationException("Subsample views on metadata are read-only");
-	}
-
-
-	@Override
-	public int numDimensions() {
-		return source.numDimensions();
-	}
-
-	private <T> MetadataItem<T> itemView(MetadataItem<T> result) {
-		return new MetadataStoreSubsampleView.MetadataItemSubsampleView<>(result, steps);
+		super(store, subsampling(store, steps));
 	}
 
-	private static class MetadataItemSubsampleView<T> extends SubsampleView<T> implements MetadataItem<T> {
-		private final MetadataItem<T> source;
-
-		public MetadataItemSubsampleView(MetadataItem<T> source, long[] steps) {
-			super(source, steps);
-			this.source = source;
-		}
-
-		@Override
-		public String name() {
-			return source.name();
+	private static MetadataViewTransform subsampling(MetadataStore store, long[] steps) {
+		if (store.numDimensions() != steps.length) {
+			throw new IllegalArgumentException("Expected one subsampling step per dimension of the " + store.numDimensions() + "-dimensional store, got " + steps.length);
 		}
-
-        @Override
-        public int[] attachedAxes() {
-            return source.attachedAxes();
-        }
-
-        @Override
-        public int[] varyingAxes() {
-            return source.varyingAxes();
-        }
-
-        @Override
-        public T valueOr(T defaultValue) {
-            T srcValueOr = source.valueOr(defaultValue);
-            if (srcValueOr == defaultValue) {
-                return srcValueOr;
-            }
-            if (srcValueOr instanceof Viewable) {
-                return ((Viewable<T>) srcValueOr).transform(steps);
-            }
-            return srcValueOr;
-        }
-
-        @Override
-        public T value() {
-            T srcValue = source.value();
-            if (srcValue instanceof Viewable) {
-                return ((Viewable<T>) srcValue).transform(steps);
-            }
-            return srcValue;
-        }
-    }
+		return MetadataViewTransform.subsample(steps);
+	}
 }
-
@@ -33,27 +33,44 @@
  */
 package net.imglib2.meta.view;
 
+import net.imglib2.meta.AnalyticMetadataItem;
 import net.imglib2.meta.HasMetadataStore;
+import net.imglib2.meta.InfoCache;
+import net.imglib2.meta.Metadata;
 import net.imglib2.meta.MetadataItem;
+import net.imglib2.meta.MetadataKey;
 import net.imglib2.meta.MetadataStore;
 import net.imglib2.transform.integer.Mixed;
 import net.imglib2.transform.integer.MixedTransform;
+import net.imglib2.view.SubsampleView;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.stream.Collectors;
 
 /**
- * A view on a {@link MetadataStore} transformed by a {@link Mixed} transform.
+ * A view on a {@link MetadataStore} transformed by a {@link Mixed} transform, possibly followed by subsampling.
+ * <p>
+ * Views on views are flattened: the source of a {@link MetadataStoreView} is never itself a
+ * {@link MetadataStoreView}, regardless of how many transforms and subsamplings were chained. Their transforms are
+ * composed into a single {@link MetadataViewTransform} instead.
+ * </p>
  *
  * @author Gabriel Selzer
  */
 public class MetadataStoreView implements MetadataStore {
 
 	protected final MetadataStore source;
+	// The Mixed part of viewTransform
     protected final MixedTransform transform;
+	private final MetadataViewTransform viewTransform;
 	// We want the inverse of transform.component for slicing
 	private final int[] inverseComponentMapping;
+	// Bitmask of the source axes that are not sliced out
+	private final long retainedAxesMask;
+	private final InfoCache infos = new InfoCache(this);
+	private final ItemViewCache cache;
 
     /**
      * Creates a view on the given source {@link MetadataStore} transformed by the given Mixed transform.
@@ -65,16 +82,33 @@ public class MetadataStoreView implements MetadataStore {
      * @param transform the {@link Mixed} transform defining the view
      */
 	public MetadataStoreView(MetadataStore source, Mixed transform) {
+		this(source, MetadataViewTransform.of(transform));
+	}
+
+    /**
+     * Creates a view on the given source {@link MetadataStore} transformed by the given {@link MetadataViewTransform}.
+     * <p>
+     * If the source MetadataStore is itself a MetadataStoreView, this constructor
+     * will combine the two transforms into a single transform for efficiency.
+     * </p>
+     * @param source the source {@link MetadataStore}
+     * @param transform the {@link MetadataViewTransform} defining the view
+     */
+	public MetadataStoreView(MetadataStore source, MetadataViewTransform transform) {
+		MetadataStore flatSource = source;
+		MetadataViewTransform flatTransform = transform;
 		if (source instanceof MetadataStoreView) {
 			MetadataStoreView msv = (MetadataStoreView) source;
-			this.source = msv.source;
-			this.transform = msv.transform.concatenate(transform);
-		}
-		else {
-			this.source = source;
-			this.transform = new MixedTransform(transform.numSourceDimensions(), transform.numTargetDimensions());
-			this.transform.set(transform);
+			MetadataViewTransform concatenated = msv.viewTransform.concatenate(transform);
+			// Only unusual transforms, mapping one axis onto differently subsampled axes, cannot be flattened
+			if (concatenated != null) {
+				flatSource = msv.source;
+				flatTransform = concatenated;
+			}
 		}
+		this.source = flatSource;
+		this.viewTransform = flatTransform;
+		this.transform = flatTransform.mixed();
 
 		this.inverseComponentMapping = new int[ this.transform.numSourceDimensions() ];
 		for ( int d = 0; d < this.transform.numTargetDimensions(); ++d )
@@ -88,14 +122,37 @@ public class MetadataStoreView implements MetadataStore {
 		for ( int i = this.transform.numTargetDimensions(); i < this.transform.numSourceDimensions(); i++) {
 			this.inverseComponentMapping[i] = i;
 		}
+
+		long retained = 0L;
+		for ( int d = 0; d < Math.min(this.transform.numTargetDimensions(), Long.SIZE); ++d ) {
+			if (!this.transform.getComponentZero(d)) {
+				retained |= 1L << d;
+			}
+		}
+		this.retainedAxesMask = retained;
+		this.cache = new ItemViewCache(this.source);
+	}
+
+	/**
+	 * @return the {@link MetadataStore} viewed by this {@link MetadataStoreView}
+	 */
+	public MetadataStore source() {
+		return source;
+	}
+
+	/**
+	 * @return the transform from the coordinates of this view to the coordinates of {@link #source()}
+	 */
+	public MetadataViewTransform viewTransform() {
+		return viewTransform;
 	}
 
     @Override
     public Collection<? extends MetadataItem<?>> items() {
-        return source.items().stream() //
+        return cache.items(() -> Collections.unmodifiableList(source.items().stream() //
                 .filter(this::shouldIncludeItem) //
                 .map(this::itemView) //
-                .collect(Collectors.toList());
+                .collect(Collectors.toList())));
     }
     
     /**
@@ -103,40 +160,56 @@ public class MetadataStoreView implements MetadataStore {
      * Items attached ONLY to sliced-out axes should be excluded.
      */
     private boolean shouldIncludeItem(MetadataItem<?> item) {
-        int[] attachedAxes = item.attachedAxes();
-        if (attachedAxes.length == 0) {
-            // Not attached to any axes, always include
-            return true;
-        }
-
-        // Check if at least one attached axis is still present in the view
-        for (int sourceAxis : attachedAxes) {
-            if (!transform.getComponentZero(sourceAxis)) {
-                return true; // This attached axis is still present
+        final long attached = item.attachedAxesMask();
+        if (attached == Metadata.NO_AXIS_MASK) {
+            for (int d : item.attachedAxes()) {
+                if (d < transform.numTargetDimensions() && !transform.getComponentZero(d)) {
+                    return true;
+                }
             }
+            return false;
         }
-
-        // All attached axes were sliced out
-        return false;
+        // Include items not attached to any axes, and items with at least one attached axis still present in the view
+        return attached == 0L || (attached & retainedAxesMask) != 0L;
     }
 
 	@Override
 	public <T> MetadataItem<T> item(String key, Class<T> ofType, int... dims) {
+		return cache.item(key, ofType, dims, () -> {
+			MetadataItem<T> result = source.item(key, ofType, sourceDims(dims));
+			if (!result.isPresent()) {
+				return Metadata.absent(key, numDimensions(), dims);
+			}
+			return itemView(result);
+		});
+	}
+
+	@Override
+	public <T> MetadataItem<T> item(MetadataKey<T> key, int... dims) {
+		return cache.item(key.name(), key.type(), dims, () -> {
+			MetadataItem<T> result = source.item(key, sourceDims(dims));
+			if (!result.isPresent()) {
+				return Metadata.absent(key.name(), numDimensions(), dims);
+			}
+			return itemView(result);
+		});
+	}
+
+	private int[] sourceDims(int[] dims) {
 		final int[] dd = new int[dims.length];
 		for(int i = 0; i < dd.length; i++) {
 			if (inverseComponentMapping.length <= dims[i]) {
 				throw new IllegalArgumentException("Dimensions " + Arrays.toString(dims) + " is not present in the source metadata.");
 			}
-			dd[i] = inverseComponentMapping[dims[i]];
+			// Negative axes are passed on, for the source to report an absent item
+			dd[i] = dims[i] < 0 ? dims[i] : inverseComponentMapping[dims[i]];
 		}
-		return itemView(source.item(key, ofType, dd));
+		return dd;
 	}
 
 	@Override
 	public <T extends HasMetadataStore> T info(Class<T> infoClass) {
-		T srcStore = source.info(infoClass);
-		srcStore.setStore(this);
-		return srcStore;
+		return infos.get(infoClass);
 	}
 
 	@Override
@@ -147,13 +220,101 @@ public class MetadataStoreView implements MetadataStore {
         throw new UnsupportedOperationException("Views on metadata are read-only");
 	}
 
+	@Override
+	public long modificationCount() {
+		return source.modificationCount();
+	}
+
 	@Override
 	public int numDimensions() {
 		return transform.numSourceDimensions();
 	}
 
+	@SuppressWarnings("unchecked")
 	private <T> MetadataItem<T> itemView(MetadataItem<T> result ) {
-		return new MetadataItemView<>(result, transform);
+		final boolean mixes = !viewTransform.isMixedIdentity();
+		final boolean subsamples = viewTransform.isSubsampling();
+		if (result instanceof AnalyticMetadataItem) {
+			AnalyticMetadataItem analytic = (AnalyticMetadataItem) result;
+			if (mixes) analytic = analytic.transform(transform);
+			if (subsamples) analytic = analytic.transform(viewTransform.steps());
+			return (MetadataItem<T>) analytic;
+		}
+		MetadataItem<T> view = mixes || !subsamples ? new MetadataItemView<>(result, transform) : result;
+		return subsamples ? new MetadataItemSubsampleView<>(view, viewTransform.steps()) : view;
 	}
 
+	private static class MetadataItemSubsampleView<T> extends SubsampleView<T> implements MetadataItem<T> {
+		private final MetadataItem<T> source;
+		// The last Viewable value of the source, and its subsampling
+		private final Memo<T> memo = new Memo<>();
+
+		public MetadataItemSubsampleView(MetadataItem<T> source, long[] steps) {
+			super(source, steps);
+			this.source = source;
+		}
+
+		@Override
+		public String name() {
+			return source.name();
+		}
+
+        @Override
+        public int[] attachedAxes() {
+            return source.attachedAxes();
+        }
+
+        @Override
+        public long attachedAxesMask() {
+            return source.attachedAxesMask();
+        }
+
+        @Override
+        public int[] varyingAxes() {
+            return source.varyingAxes();
+        }
+
+        @Override
+        public long varyingAxesMask() {
+            return source.varyingAxesMask();
+        }
+
+        @Override
+        public boolean isPresent() {
+            return source.isPresent();
+        }
+
+        @Override
+        public Class<?> valueClass() {
+            return source.valueClass();
+        }
+
+        @Override
+        public T valueOr(T defaultValue) {
+            T srcValueOr = source.valueOr(defaultValue);
+            if (srcValueOr == defaultValue) {
+                return srcValueOr;
+            }
+            if (srcValueOr instanceof Viewable) {
+                return subsampled(srcValueOr);
+            }
+            return srcValueOr;
+        }
+
+        @Override
+        public T value() {
+            T srcValue = source.value();
+            if (srcValue instanceof Viewable) {
+                return subsampled(srcValue);
+            }
+            return srcValue;
+        }
+
+        /** Subsamples a {@link Viewable} value of the source, reusing the previous result while it stays the same. */
+        @SuppressWarnings("unchecked")
+        private T subsampled(T srcValue) {
+            final T last = memo.get(srcValue);
+            return last != null ? last : memo.put(srcValue, ((Viewable<T>) srcValue).transform(steps));
+        }
+    }
 }
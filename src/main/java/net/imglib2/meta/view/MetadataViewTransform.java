@@ -0,0 +1,261 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta.view;
+
+import net.imglib2.transform.integer.Mixed;
+import net.imglib2.transform.integer.MixedTransform;
+
+import java.util.Arrays;
+
+/**
+ * The coordinate transform of a view on metadata, composed of a {@link Mixed} transform followed by subsampling.
+ * <p>
+ * A position {@code x} of the view maps to position {@code mixed(steps * x)} of its source. Slicing, translating,
+ * permuting, inverting, adding dimensions and subsampling all compose into this normalized form, so any chain of
+ * such views can be represented by a single {@link MetadataViewTransform}.
+ * </p>
+ */
+public final class MetadataViewTransform {
+
+	private final MixedTransform mixed;
+	private final long[] steps;
+
+	/**
+	 * @param mixed the {@link Mixed} transform mapping subsampled view coordinates to source coordinates
+	 * @param steps the subsampling steps along each view dimension
+	 */
+	public MetadataViewTransform(Mixed mixed, long[] steps) {
+		if (steps.length != mixed.numSourceDimensions()) {
+			throw new IllegalArgumentException("Expected " + mixed.numSourceDimensions() + " steps, got " + Arrays.toString(steps));
+		}
+		for (long step : steps) {
+			if (step < 1) {
+				throw new IllegalArgumentException("Steps must be positive: " + Arrays.toString(steps));
+			}
+		}
+		this.mixed = new MixedTransform(mixed.numSourceDimensions(), mixed.numTargetDimensions());
+		this.mixed.set(mixed);
+		this.steps = steps.clone();
+	}
+
+	/**
+	 * @param transform a {@link Mixed} transform
+	 * @return a {@link MetadataViewTransform} equivalent to {@code transform}
+	 */
+	public static MetadataViewTransform of(Mixed transform) {
+		final long[] steps = new long[transform.numSourceDimensions()];
+		Arrays.fill(steps, 1);
+		return new MetadataViewTransform(transform, steps);
+	}
+
+	/**
+	 * @param steps the subsampling steps along each dimension
+	 * @return a {@link MetadataViewTransform} subsampling by {@code steps}
+	 */
+	public static MetadataViewTransform subsample(long... steps) {
+		return new MetadataViewTransform(new MixedTransform(steps.length, steps.length), steps);
+	}
+
+	/**
+	 * @return the number of dimensions of the view
+	 */
+	public int numSourceDimensions() {
+		return steps.length;
+	}
+
+	/**
+	 * @return the number of dimensions of the viewed source
+	 */
+	public int numTargetDimensions() {
+		return mixed.numTargetDimensions();
+	}
+
+	/**
+	 * @return a copy of the {@link Mixed} part of this transform
+	 */
+	public MixedTransform mixed() {
+		final MixedTransform copy = new MixedTransform(mixed.numSourceDimensions(), mixed.numTargetDimensions());
+		copy.set(mixed);
+		return copy;
+	}
+
+	/**
+	 * @return a copy of the subsampling steps of this transform
+	 */
+	public long[] steps() {
+		return steps.clone();
+	}
+
+	/**
+	 * @return {@code true} iff this transform subsamples along any dimension
+	 */
+	public boolean isSubsampling() {
+		for (long step : steps) {
+			if (step != 1) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return {@code true} iff the {@link Mixed} part of this transform is the identity
+	 */
+	public boolean isMixedIdentity() {
+		if (mixed.numSourceDimensions() != mixed.numTargetDimensions()) return false;
+		for (int d = 0; d < mixed.numTargetDimensions(); d++) {
+			if (mixed.getTranslation(d) != 0 || mixed.getComponentZero(d) || mixed.getComponentInversion(d) || mixed.getComponentMapping(d) != d) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Maps a position of the view to the corresponding position of its source.
+	 *
+	 * @param source a position of the view
+	 * @param target receives the position of the source
+	 */
+	public void apply(long[] source, long[] target) {
+		for (int d = 0; d < target.length; d++) {
+			if (mixed.getComponentZero(d)) {
+				target[d] = mixed.getTranslation(d);
+			} else {
+				final int c = mixed.getComponentMapping(d);
+				final long x = steps[c] * source[c];
+				target[d] = mixed.getTranslation(d) + (mixed.getComponentInversion(d) ? -x : x);
+			}
+		}
+	}
+
+	/**
+	 * Maps a position of the source to the corresponding position of the view, if there is one.
+	 *
+	 * @param source receives the position of the view
+	 * @param target a position of the source
+	 * @return {@code true} iff {@code target} is part of the view, i.e. it lies on the subsampling grid and within
+	 *         every slice
+	 */
+	public boolean applyInverse(long[] source, long[] target) {
+		Arrays.fill(source, 0);
+		for (int d = 0; d < target.length; d++) {
+			final long x = target[d] - mixed.getTranslation(d);
+			if (mixed.getComponentZero(d)) {
+				if (x != 0) return false;
+				continue;
+			}
+			final int c = mixed.getComponentMapping(d);
+			final long scaled = mixed.getComponentInversion(d) ? -x : x;
+			if (scaled % steps[c] != 0) return false;
+			source[c] = scaled / steps[c];
+		}
+		return true;
+	}
+
+	/**
+	 * Composes this transform with a view through {@code transform}.
+	 *
+	 * @param transform a {@link Mixed} transform mapping the coordinates of a new view to the coordinates of this one
+	 * @return the transform mapping the new view to the source of this one, or {@code null} if {@code transform}
+	 *         maps one dimension of the new view to several dimensions subsampled differently
+	 */
+	public MetadataViewTransform concatenate(Mixed transform) {
+		final int n = transform.numTargetDimensions();
+		final int m = transform.numSourceDimensions();
+		if (n != steps.length) {
+			throw new IllegalArgumentException("Expected a transform into " + steps.length + " dimensions, got " + n);
+		}
+		// Move the subsampling of this view past the transform: steps * t(x) = t'(steps' * x)
+		final long[] translation = new long[n];
+		final int[] component = new int[n];
+		final boolean[] inversion = new boolean[n];
+		final boolean[] zero = new boolean[n];
+		final long[] newSteps = new long[m];
+		for (int d = 0; d < n; d++) {
+			translation[d] = steps[d] * transform.getTranslation(d);
+			component[d] = transform.getComponentMapping(d);
+			inversion[d] = transform.getComponentInversion(d);
+			zero[d] = transform.getComponentZero(d);
+			if (zero[d]) continue;
+			final int c = component[d];
+			if (newSteps[c] != 0 && newSteps[c] != steps[d]) {
+				return null;
+			}
+			newSteps[c] = steps[d];
+		}
+		for (int e = 0; e < m; e++) {
+			if (newSteps[e] == 0) newSteps[e] = 1;
+		}
+		final MixedTransform moved = new MixedTransform(m, n);
+		moved.setTranslation(translation);
+		moved.setComponentMapping(component);
+		moved.setComponentInversion(inversion);
+		moved.setComponentZero(zero);
+		return new MetadataViewTransform(mixed.concatenate(moved), newSteps);
+	}
+
+	/**
+	 * Composes this transform with a subsampling view.
+	 *
+	 * @param subsampling the subsampling steps of a new view along each dimension of this one
+	 * @return the transform mapping the new view to the source of this one
+	 */
+	public MetadataViewTransform concatenate(long[] subsampling) {
+		if (subsampling.length != steps.length) {
+			throw new IllegalArgumentException("Expected " + steps.length + " steps, got " + Arrays.toString(subsampling));
+		}
+		final long[] newSteps = new long[steps.length];
+		for (int d = 0; d < steps.length; d++) {
+			newSteps[d] = steps[d] * subsampling[d];
+		}
+		return new MetadataViewTransform(mixed, newSteps);
+	}
+
+	/**
+	 * Composes this transform with a view through {@code transform}.
+	 *
+	 * @param transform the transform of a new view on the view described by this transform
+	 * @return the transform mapping the new view to the source of this one, or {@code null} if it cannot be
+	 *         normalized
+	 * @see #concatenate(Mixed)
+	 */
+	public MetadataViewTransform concatenate(MetadataViewTransform transform) {
+		final MetadataViewTransform moved = concatenate(transform.mixed);
+		return moved == null ? null : moved.concatenate(transform.steps);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + mixed + ", steps=" + Arrays.toString(steps) + "]";
+	}
+}
@@ -0,0 +1,176 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ConcurrentMetadataStore} against a synchronized
+ * {@link SimpleMetadataStore} while several threads read metadata and one
+ * thread keeps adding new items.
+ */
+@State(Scope.Group)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentMetadataStoreBenchmark {
+
+	private static final int N = 5;
+
+	/** Number of items in the store when each iteration starts. */
+	@Param({"10", "100"})
+	public int size;
+
+	/** CPU work done by the writer between adds, modelling the ingest rate. */
+	@Param({"1000"})
+	public long writeDelay;
+
+	private MetadataStore concurrent;
+	private MetadataStore synchronizedSimple;
+	private int written;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		concurrent = new ConcurrentMetadataStore(N);
+		synchronizedSimple = new SynchronizedStore(new SimpleMetadataStore(N));
+		for (int i = 0; i < size; i++) {
+			concurrent.add("key" + i, i, i % N);
+			synchronizedSimple.add("key" + i, i, i % N);
+		}
+		written = size;
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(3)
+	public void concurrentRead(Blackhole bh) {
+		read(concurrent, bh);
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(1)
+	public void concurrentWrite() {
+		write(concurrent);
+	}
+
+	@Benchmark
+	@Group("synchronizedSimple")
+	@GroupThreads(3)
+	public void synchronizedSimpleRead(Blackhole bh) {
+		read(synchronizedSimple, bh);
+	}
+
+	@Benchmark
+	@Group("synchronizedSimple")
+	@GroupThreads(1)
+	public void synchronizedSimpleWrite() {
+		write(synchronizedSimple);
+	}
+
+	private void read(MetadataStore store, Blackhole bh) {
+		bh.consume(store.item("key" + (size / 2), Integer.class, (size / 2) % N).value());
+		for (MetadataItem<?> item : store.items()) {
+			bh.consume(item.name());
+		}
+	}
+
+	private void write(MetadataStore store) {
+		Blackhole.consumeCPU(writeDelay);
+		int i = written++;
+		store.add("written" + i, i, i % N);
+	}
+
+	/** A {@link MetadataStore} made thread-safe by a single lock. */
+	private static class SynchronizedStore implements MetadataStore {
+
+		private final MetadataStore delegate;
+
+		SynchronizedStore(MetadataStore delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public synchronized Collection<? extends MetadataItem<?>> items() {
+			// Readers must not see later writes while iterating
+			return new ArrayList<>(delegate.items());
+		}
+
+		@Override
+		public synchronized <T> MetadataItem<T> item(String key, Class<T> ofType, int... dims) {
+			return delegate.item(key, ofType, dims);
+		}
+
+		@Override
+		public synchronized <T> void add(MetadataItem<T> item) {
+			delegate.add(item);
+		}
+
+		@Override
+		public int numDimensions() {
+			return delegate.numDimensions();
+		}
+	}
+
+	public static void main(String... args) throws RunnerException {
+		Options options = new OptionsBuilder()
+			.include(ConcurrentMetadataStoreBenchmark.class.getSimpleName())
+			.build();
+		new Runner(options).run();
+	}
+}
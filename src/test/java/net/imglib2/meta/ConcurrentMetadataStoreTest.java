@@ -0,0 +1,153 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.img.list.ListImg;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/** Tests {@link ConcurrentMetadataStore} functionality. */
+public class ConcurrentMetadataStoreTest {
+
+    @Test
+    public void testAddOverloads() {
+        MetadataStore store = new ConcurrentMetadataStore(4);
+        store.add("author", "foo Selzer");
+        store.add(Metadata.constant("unit", "um", 4, 0));
+        ListImg<String> tables = new ListImg<>(Arrays.asList("red", "green", "blue"), 3);
+        store.add("lut", tables, new int[]{3}, 3);
+        List<String> written = new ArrayList<>();
+        store.add("mutable", tables, (pos, value) -> written.add(value), new int[]{3}, 3);
+
+        assertEquals("foo Selzer", store.item("author", String.class).value());
+        assertEquals("um", store.item("unit", String.class, 0).value());
+        assertEquals("blue", store.item("lut", String.class, 3).getAt(0, 0, 0, 2));
+        store.item("mutable", String.class, 3).setAt("cyan", 0, 0, 0, 1);
+        assertEquals(Arrays.asList("cyan"), written);
+        assertNull(store.item("unit", String.class, 1).valueOr(null));
+    }
+
+    @Test
+    public void testSnapshots() {
+        ConcurrentMetadataStore store = new ConcurrentMetadataStore(2);
+        store.add("a", "a");
+        Collection<? extends MetadataItem<?>> before = store.items();
+        store.addAll(Arrays.asList( //
+            Metadata.constant("b", "b", 2), //
+            Metadata.constant("c", "c", 2, 1) //
+        ));
+        // Earlier snapshots are unaffected by later writes
+        assertEquals(1, before.size());
+        assertEquals(3, store.items().size());
+        assertEquals("c", store.item("c", String.class, 1).value());
+        assertThrows(UnsupportedOperationException.class, () -> store.items().clear());
+    }
+
+    @Test
+    public void testConcurrentReadsAndWrites() throws Exception {
+        final int writes = 2000;
+        MetadataStore store = new ConcurrentMetadataStore(3);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < writes; i++) {
+                    store.add("key" + i, i, i % 3);
+                }
+            }));
+            for (int t = 0; t < 3; t++) {
+                futures.add(pool.submit(() -> {
+                    int seen = 0;
+                    while (seen < writes) {
+                        // Iterating must never throw ConcurrentModificationException
+                        int count = 0;
+                        for (MetadataItem<?> item : store.items()) {
+                            assertNotNull(item.name());
+                            count++;
+                        }
+                        assertTrue(count >= seen);
+                        seen = count;
+                        if (seen > 0) {
+                            int i = seen - 1;
+                            assertEquals(Integer.valueOf(i), store.item("key" + i, Integer.class, i % 3).value());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        MetadataStore store = new ConcurrentMetadataStore(3);
+        store.add("foo", "first", 0);
+        store.add("bar", "bar");
+        store.add("foo", "second", 0);
+        store.add("foo", "other axis", 1);
+
+        store.put("foo", "replaced", 0);
+        assertEquals("replaced", store.item("foo", String.class, 0).value());
+        assertEquals("other axis", store.item("foo", String.class, 1).value());
+        // The replacement takes the position of the first replaced item
+        List<Object> values = new ArrayList<>();
+        store.items().forEach(item -> values.add(item.value()));
+        assertEquals(Arrays.asList("replaced", "bar", "other axis"), values);
+
+        assertTrue(store.remove("foo", 0));
+        assertFalse(store.remove("foo", 0));
+        assertNull(store.item("foo", String.class, 0).valueOr(null));
+        assertEquals(2, store.items().size());
+
+        // Putting a new key appends it
+        store.put("baz", "baz", 1, 2);
+        assertEquals("baz", store.item("baz", String.class, 2, 1).value());
+        assertEquals(3, store.items().size());
+    }
+}
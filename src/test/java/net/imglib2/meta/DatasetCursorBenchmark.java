@@ -0,0 +1,138 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Cursor;
+import net.imglib2.img.Img;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.img.cell.CellImgFactory;
+import net.imglib2.img.planar.PlanarImgs;
+import net.imglib2.meta.view.DatasetIntervalView;
+import net.imglib2.type.numeric.real.DoubleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares iterating a {@link DatasetInterval}, and a view of it, with iterating the wrapped image directly. As
+ * datasets delegate to the cursors of their data, all should perform alike.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DatasetCursorBenchmark {
+
+	private static final long[] DIMS = {128, 128, 32};
+
+	@Param({"array", "planar", "cell"})
+	public String storage;
+
+	private Img<DoubleType> img;
+	private DatasetInterval<DoubleType> dataset;
+	private DatasetIntervalView<DoubleType, ?> view;
+
+	@Setup
+	public void setup() {
+		switch (storage) {
+			case "array": img = ArrayImgs.doubles(DIMS); break;
+			case "planar": img = PlanarImgs.doubles(DIMS); break;
+			default: img = new CellImgFactory<>(new DoubleType(), 32).create(DIMS); break;
+		}
+		double i = 0;
+		for (DoubleType t : img) {
+			t.set(i++);
+		}
+		dataset = DatasetInterval.wrap(img, new SimpleMetadataStore(DIMS.length));
+		view = dataset.view();
+	}
+
+	private static double sum(Cursor<DoubleType> cursor) {
+		double sum = 0;
+		while (cursor.hasNext()) {
+			sum += cursor.next().get();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double rawCursor() {
+		return sum(img.cursor());
+	}
+
+	@Benchmark
+	public double datasetCursor() {
+		return sum(dataset.cursor());
+	}
+
+	@Benchmark
+	public double viewCursor() {
+		return sum(view.cursor());
+	}
+
+	@Benchmark
+	public double rawLocalizingCursor() {
+		return sum(img.localizingCursor());
+	}
+
+	@Benchmark
+	public double datasetLocalizingCursor() {
+		return sum(dataset.localizingCursor());
+	}
+
+	public static void main(String... args) throws RunnerException {
+		Options options = new OptionsBuilder()
+			.include(DatasetCursorBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+}
@@ -34,16 +34,26 @@
 package net.imglib2.meta;
 
 import net.imglib2.Cursor;
+import net.imglib2.RandomAccessible;
 import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.array.ArrayImg;
 import net.imglib2.img.array.ArrayImgs;
 import net.imglib2.loops.LoopBuilder;
 import net.imglib2.meta.calibration.*;
 import net.imglib2.meta.calibration.Axes;
 import net.imglib2.meta.calibration.AxisType;
+import net.imglib2.meta.view.DatasetIntervalView;
 import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.IntervalView;
+import net.imglib2.view.MixedTransformView;
+import net.imglib2.view.Views;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests {@link DatasetInterval}.
@@ -85,6 +95,62 @@ public class DatasetIntervalTest {
         }
     }
 
+    @Test
+    public void testFlattenedDataViews() {
+        RandomAccessibleInterval<DoubleType> data = ArrayImgs.doubles(4, 5, 6);
+        double i = 0;
+        for (DoubleType t : Views.flatIterable(data)) {
+            t.set(i++);
+        }
+        DatasetInterval<DoubleType> dataset = DatasetInterval.wrap(data, new SimpleMetadataStore(3));
+
+        // A chain of views is a single transform of the original data
+        RandomAccessibleInterval<DoubleType> view = dataset.view().translate(1, 0, 0).permute(0, 2).slice(1, 2).invertAxis(0).zeroMin();
+        RandomAccessibleInterval<DoubleType> expected = Views.zeroMin(Views.invertAxis(Views.hyperSlice(Views.permute(Views.translate(data, 1, 0, 0), 0, 2), 1, 2), 0));
+        RandomAccessibleInterval<DoubleType> viewData = ((DatasetIntervalView<DoubleType, ?>) view).data();
+        assertTrue(viewData instanceof IntervalView);
+        RandomAccessible<DoubleType> transformed = ((IntervalView<DoubleType>) viewData).getSource();
+        assertTrue(transformed instanceof MixedTransformView);
+        assertSame(data, ((MixedTransformView<DoubleType>) transformed).getSource());
+
+        assertTrue(Intervals.equals(expected, view));
+        LoopBuilder.setImages(expected, view).forEachPixel((e, a) -> assertEquals(e.get(), a.get(), 0.0));
+    }
+
+    @Test
+    public void testNativeIteration() {
+        ArrayImg<DoubleType, ?> img = ArrayImgs.doubles(4, 5, 6);
+        double i = 0;
+        for (DoubleType t : img) {
+            t.set(i++);
+        }
+        DatasetInterval<DoubleType> dataset = DatasetInterval.wrap(img);
+
+        // Datasets iterate using the cursors of their data
+        assertSame(img.cursor().getClass(), dataset.cursor().getClass());
+        assertSame(img.localizingCursor().getClass(), dataset.localizingCursor().getClass());
+        assertEquals(img.size(), dataset.size());
+        assertEquals(img.iterationOrder(), dataset.iterationOrder());
+        Cursor<DoubleType> expected = img.localizingCursor();
+        Cursor<DoubleType> actual = dataset.localizingCursor();
+        while (expected.hasNext()) {
+            assertEquals(expected.next().get(), actual.next().get(), 0.0);
+            assertEquals(expected.getLongPosition(2), actual.getLongPosition(2));
+        }
+        assertFalse(actual.hasNext());
+
+        // ...and so do their views
+        DatasetIntervalView<DoubleType, ?> view = dataset.view().slice(2, 3);
+        assertEquals(view.data().iterationOrder(), view.iterationOrder());
+        assertEquals(20, view.size());
+        Cursor<DoubleType> viewCursor = view.cursor();
+        for (long y = 0; y < 5; y++) {
+            for (long x = 0; x < 4; x++) {
+                assertEquals(img.getAt(x, y, 3).get(), viewCursor.next().get(), 0.0);
+            }
+        }
+    }
+
 	private Axis axis(AxisType axisType) {
 		return new DefaultLinearAxis(axisType, 2, 0);
 	}
@@ -0,0 +1,130 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.RandomAccess;
+import net.imglib2.RandomAccessibleInterval;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.meta.view.DatasetIntervalView;
+import net.imglib2.type.numeric.real.DoubleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures random access to the pixels of a {@link DatasetIntervalView} against the number of view operations
+ * chained to create it. As the chain is flattened into a single transform, the cost should not grow with its length.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DatasetViewChainBenchmark {
+
+	private static final int SIZE = 64;
+
+	@Param({"1", "4", "16", "64"})
+	public int chainLength;
+
+	private RandomAccessibleInterval<DoubleType> view;
+	private RandomAccess<DoubleType> access;
+	// The center of the view, whose minimum depends on the chain
+	private final long[] position = new long[3];
+	private int x;
+
+	@Setup
+	public void setup() {
+		DatasetInterval<DoubleType> dataset = DatasetInterval.wrap(ArrayImgs.doubles(SIZE, SIZE, SIZE), new SimpleMetadataStore(3));
+		DatasetIntervalView<DoubleType, ?> chain = dataset.view();
+		// Alternate operations that cancel out pairwise, so every chain views the same pixels
+		for (int i = 0; i < chainLength; i++) {
+			switch (i % 4) {
+				case 0: chain = chain.translate(1, 2, 3); break;
+				case 1: chain = chain.permute(0, 2); break;
+				case 2: chain = chain.translateInverse(3, 2, 1); break;
+				default: chain = chain.permute(0, 2); break;
+			}
+		}
+		view = chain;
+		access = view.randomAccess();
+		for (int d = 0; d < position.length; d++) {
+			position[d] = view.min(d) + SIZE / 2;
+		}
+	}
+
+	private long nextX() {
+		x = (x + 7) % SIZE;
+		return view.min(0) + x;
+	}
+
+	@Benchmark
+	public double get() {
+		position[0] = nextX();
+		access.setPosition(position);
+		return access.get().get();
+	}
+
+	@Benchmark
+	public double createAndGet() {
+		final RandomAccess<DoubleType> ra = view.randomAccess();
+		position[0] = nextX();
+		ra.setPosition(position);
+		return ra.get().get();
+	}
+
+	public static void main(String... args) throws RunnerException {
+		Options options = new OptionsBuilder()
+			.include(DatasetViewChainBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,240 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.img.list.ListImg;
+import net.imglib2.meta.calibration.Axes;
+import net.imglib2.meta.calibration.Calibration;
+import net.imglib2.meta.calibration.DefaultLinearAxis;
+import net.imglib2.meta.channels.Channels;
+import net.imglib2.meta.view.MetadataStoreView;
+import net.imglib2.view.ViewTransforms;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/** Tests {@link IndexedMetadataStore} functionality. */
+public class IndexedMetadataStoreTest {
+
+    @Test
+    public void testLookup() {
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add("author", "foo Selzer");
+        store.add("unit", "um", 0);
+        store.add("unit", "s", 2);
+        store.add("pair", "xy", 0, 1);
+
+        assertEquals("foo Selzer", store.item("author").value());
+        assertEquals("foo Selzer", store.item("author", String.class).value());
+        assertEquals("um", store.item("unit", String.class, 0).value());
+        assertEquals("s", store.item("unit", String.class, 2).value());
+        // Attachment is a set - order should not matter
+        assertEquals("xy", store.item("pair", String.class, 0, 1).value());
+        assertEquals("xy", store.item("pair", String.class, 1, 0).value());
+    }
+
+    @Test
+    public void testAbsent() {
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add("unit", "um", 0);
+
+        // Wrong axes
+        MetadataItem<String> item = store.item("unit", String.class, 1);
+        assertThrows(NoSuchElementException.class, item::value);
+        assertEquals("default", item.valueOr("default"));
+        assertEquals(3, item.numDimensions());
+        // Wrong type
+        assertEquals(Integer.valueOf(5), store.item("unit", Integer.class, 0).valueOr(5));
+        // Wrong key
+        assertNull(store.item("author", String.class).valueOr(null));
+    }
+
+    @Test
+    public void testFirstMatchWins() {
+        MetadataStore store = new IndexedMetadataStore(2);
+        store.add("foo", 1);
+        store.add("foo", "first");
+        store.add("foo", "second");
+
+        assertEquals(1, store.item("foo").value());
+        assertEquals("first", store.item("foo", String.class).value());
+        assertEquals(Integer.valueOf(1), store.item("foo", Integer.class).value());
+    }
+
+    @Test
+    public void testItemsInInsertionOrder() {
+        MetadataStore store = new IndexedMetadataStore(4);
+        store.add("b", "b");
+        store.add("a", "a", 1);
+        ListImg<String> tables = new ListImg<>(Arrays.asList("red", "green", "blue"), 3);
+        store.add("lut", tables, new int[]{3}, 3);
+        store.add("c", "c", 2);
+
+        List<String> names = new ArrayList<>();
+        store.items().forEach(item -> names.add(item.name()));
+        assertEquals(Arrays.asList("b", "a", "lut", "c"), names);
+
+        MetadataItem<?> lutItem = store.item("lut", 3);
+        assertEquals("green", lutItem.getAt(0, 0, 0, 1));
+    }
+
+    @Test
+    public void testDefaultStore() {
+        Dataset<?> dataset = Dataset.wrap(Data.image());
+        assertTrue(dataset.store() instanceof IndexedMetadataStore);
+        assertEquals(dataset.numDimensions(), dataset.store().numDimensions());
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add("foo", "first", 0);
+        store.add("bar", "bar");
+        store.add("foo", "second", 0);
+        store.add("foo", "other axis", 1);
+
+        store.put("foo", "replaced", 0);
+        assertEquals("replaced", store.item("foo", String.class, 0).value());
+        assertEquals("other axis", store.item("foo", String.class, 1).value());
+        // The replacement takes the position of the first replaced item
+        List<Object> values = new ArrayList<>();
+        store.items().forEach(item -> values.add(item.value()));
+        assertEquals(Arrays.asList("replaced", "bar", "other axis"), values);
+
+        assertTrue(store.remove("foo", 0));
+        assertFalse(store.remove("foo", 0));
+        assertNull(store.item("foo", String.class, 0).valueOr(null));
+        assertEquals(2, store.items().size());
+
+        // Putting a new key appends it
+        store.put("baz", "baz", 1, 2);
+        assertEquals("baz", store.item("baz", String.class, 2, 1).value());
+        assertEquals(3, store.items().size());
+    }
+
+    @Test
+    public void testRepeatedSettersDoNotGrow() {
+        MetadataStore store = new IndexedMetadataStore(3);
+        Calibration calibration = Metadata.calibration(store);
+        Channels channels = Metadata.channels(store);
+        for (int i = 0; i < 100; i++) {
+            calibration.setAxis(new DefaultLinearAxis(Axes.X, i, 0), 0);
+            channels.setRGB(i % 2 == 0);
+        }
+        // One AXIS, one AXIS_DATA and one RGB item
+        assertEquals(3, store.items().size());
+        assertEquals(99, calibration.axis(0).calibrated(1), 0.0);
+        assertFalse(channels.isRGB());
+    }
+
+    @Test
+    public void testManyKeys() {
+        MetadataStore store = new IndexedMetadataStore(3);
+        for (int i = 0; i < 1000; i++) {
+            store.add("attribute" + i, i, i % 3);
+            store.add("axis", i, i % 3);
+        }
+        // String keys are hashed, never assigned ids
+        assertEquals(-1, MetadataKey.idOf("attribute0"));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, store.item("attribute" + i, Integer.class, i % 3).value().intValue());
+            assertFalse(store.item("attribute" + i, (i + 1) % 3).isPresent());
+        }
+        assertEquals(0, store.item("axis", Integer.class, 0).value().intValue());
+        assertEquals(2, store.item("axis", Integer.class, 2).value().intValue());
+
+        // Emptied buckets do not get in the way
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(store.remove("attribute" + i, i % 3));
+        }
+        for (int i = 0; i < 1000; i++) {
+            store.put("other" + i, i, 1);
+        }
+        assertEquals(2000, store.items().size());
+        assertFalse(store.item("attribute5", 2).isPresent());
+        assertEquals(999, store.item("other999", Integer.class, 1).value().intValue());
+    }
+
+    @Test
+    public void testTypedKeys() {
+        MetadataKey<String> unit = MetadataKey.of("unit", String.class);
+        MetadataKey<Integer> intUnit = MetadataKey.of("unit", Integer.class);
+        assertEquals(unit.id(), intUnit.id());
+        assertEquals(unit.id(), MetadataKey.idOf("unit"));
+        assertNotEquals(unit, intUnit);
+        assertEquals(unit, MetadataKey.of("unit", String.class));
+        assertEquals(-1, MetadataKey.idOf("a key that was never used"));
+
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.put(unit, "um", 0);
+        store.add("unit", 5, 1);
+        // Typed and String keys are interchangeable
+        assertEquals("um", store.item(unit, 0).value());
+        assertEquals("um", store.item("unit", String.class, 0).value());
+        assertEquals(Integer.valueOf(5), store.item(intUnit, 1).value());
+        assertFalse(store.item(intUnit, 0).isPresent());
+        assertFalse(store.item(MetadataKey.of("other", String.class), 0).isPresent());
+
+        // Typed keys pass through views
+        MetadataStore view = new MetadataStoreView(store, ViewTransforms.permute(3, 0, 2));
+        assertEquals("um", view.item(unit, 2).value());
+        assertFalse(view.item(unit, 0).isPresent());
+    }
+
+    @Test
+    public void testTypedKeysFollowChanges() {
+        for (MetadataStore store : Arrays.asList(new IndexedMetadataStore(3), new ConcurrentMetadataStore(3))) {
+            // Items added by name before their key is declared are found through its id
+            store.add("wavelength", 488.0, 2);
+            MetadataKey<Double> wavelength = MetadataKey.of("wavelength", Double.class);
+            assertEquals(488.0, store.item(wavelength, 2).value(), 0.0);
+            assertFalse(store.item(wavelength, 1).isPresent());
+            assertFalse(store.item(MetadataKey.of("wavelength", String.class), 2).isPresent());
+
+            // Ids resolved before a removal do not hold on to removed items
+            assertTrue(store.remove("wavelength", 2));
+            assertFalse(store.item(wavelength, 2).isPresent());
+            store.add("wavelength", 561.0, 2);
+            assertEquals(561.0, store.item(wavelength, 2).value(), 0.0);
+            store.put(wavelength, 640.0, 2);
+            assertEquals(640.0, store.item(wavelength, 2).value(), 0.0);
+            assertEquals(1, store.items().size());
+        }
+    }
+}
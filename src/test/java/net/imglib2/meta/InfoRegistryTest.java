@@ -0,0 +1,123 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.meta.calibration.Axes;
+import net.imglib2.meta.calibration.Calibration;
+import net.imglib2.meta.calibration.DefaultCalibration;
+import net.imglib2.meta.calibration.DefaultLinearAxis;
+import net.imglib2.meta.view.MetadataStoreView;
+import net.imglib2.view.ViewTransforms;
+import org.junit.Test;
+
+import java.util.ServiceLoader;
+
+import static org.junit.Assert.*;
+
+/** Tests {@link InfoRegistry} and {@link InfoCache} functionality. */
+public class InfoRegistryTest {
+
+    /** A {@link HasMetadataStore} without any {@code META-INF/services} registration. */
+    public interface Greeting extends HasMetadataStore {
+        String greet();
+    }
+
+    public static class DefaultGreeting implements Greeting {
+        private final MetadataStore store;
+
+        public DefaultGreeting(MetadataStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public MetadataStore store() {
+            return store;
+        }
+
+        @Override
+        public String greet() {
+            return "Hello, " + store.item("name", String.class).valueOr("nobody");
+        }
+    }
+
+    @Test
+    public void testServiceLoaderDiscovery() {
+        MetadataStore store = new SimpleMetadataStore(2);
+        Calibration calibration = InfoRegistry.create(Calibration.class, store);
+        assertTrue(calibration instanceof DefaultCalibration);
+        assertSame(store, calibration.store());
+        // Each call to create should produce a new facade
+        assertNotSame(calibration, InfoRegistry.create(Calibration.class, store));
+
+        // Providers are plain services
+        boolean found = false;
+        for (InfoProvider<?> provider : ServiceLoader.load(InfoProvider.class)) {
+            found |= provider instanceof DefaultCalibration.Provider && provider.infoClass() == Calibration.class;
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    public void testExplicitRegistration() {
+        InfoRegistry.register(Greeting.class, DefaultGreeting::new);
+        MetadataStore store = new IndexedMetadataStore(2);
+        store.add("name", "imglib2");
+        assertEquals("Hello, imglib2", store.info(Greeting.class).greet());
+    }
+
+    @Test
+    public void testMissingImplementation() {
+        MetadataStore store = new SimpleMetadataStore(2);
+        assertThrows(IllegalArgumentException.class, () -> store.info(HasMetadataStore.class));
+    }
+
+    @Test
+    public void testFacadesAreCachedPerStore() {
+        MetadataStore store = new SimpleMetadataStore(3);
+        Calibration calibration = Metadata.calibration(store);
+        assertSame(calibration, Metadata.calibration(store));
+        calibration.setAxis(new DefaultLinearAxis(Axes.Z, 1, 0), 2);
+
+        MetadataStore view = new MetadataStoreView(store, ViewTransforms.permute(3, 0, 2));
+        Calibration viewCalibration = Metadata.calibration(view);
+        assertSame(viewCalibration, Metadata.calibration(view));
+        assertNotSame(calibration, viewCalibration);
+        assertSame(store, calibration.store());
+        assertSame(view, viewCalibration.store());
+
+        // Creating the view's facade must not rebind the source's facade
+        assertSame(Axes.Z, calibration.axis(2).type());
+        assertSame(Axes.Z, viewCalibration.axis(0).type());
+    }
+}
@@ -0,0 +1,136 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.Point;
+import net.imglib2.meta.calibration.Axes;
+import net.imglib2.meta.calibration.Axis;
+import net.imglib2.meta.calibration.Calibration;
+import net.imglib2.meta.calibration.DefaultLinearAxis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading metadata through {@link net.imglib2.meta.view.MetadataItemView}s, as done by e.g.
+ * {@code Calibration.axis(d)} on a sliced or cropped dataset. Run with the GC profiler (as {@link #main} does); none
+ * of these reads should allocate.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetadataItemViewBenchmark {
+
+	private static final int FRAMES = 1000;
+
+	private final long[] position = new long[2];
+	private final Point point = new Point(2);
+
+	private MetadataItem<Axis> axisView;
+	private MetadataItem<String> nameView;
+	private MetadataItem<Double> exposureView;
+	private int frame;
+
+	@Setup
+	public void setup() {
+		// A calibrated XYT dataset, sliced at y = 10 and cropped from x = 100
+		final MetadataItem<Axis> axis = Metadata.constant(Calibration.AXIS, new DefaultLinearAxis(Axes.X, 0.5, 0), 3, 0);
+		axisView = axis.view().translate(-100, 0, 0).slice(1, 10);
+		nameView = Metadata.constant("name", "dataset", 3).view().translate(-100, 0, 0).slice(1, 10);
+		// Exposure times, whose source reads do not allocate either
+		final RunLengthMetadataItem<Double> exposure = Metadata.runLength("exposure", Double.class, 3, 2, 2);
+		for (int i = 0; i < FRAMES; i += 100) {
+			exposure.append(0.01 * i, 100);
+		}
+		exposureView = exposure.view().translate(-100, 0, 0).slice(1, 10);
+	}
+
+	private long nextFrame() {
+		frame = (frame + 1) % FRAMES;
+		return frame;
+	}
+
+	@Benchmark
+	public Axis viewableValue() {
+		return axisView.value();
+	}
+
+	@Benchmark
+	public Axis viewableValueOr() {
+		return axisView.valueOr(null);
+	}
+
+	@Benchmark
+	public String constantGetAt() {
+		point.setPosition(nextFrame(), 1);
+		return nameView.getAt(point);
+	}
+
+	@Benchmark
+	public Double varyingGetAtLocalizable() {
+		point.setPosition(nextFrame(), 1);
+		return exposureView.getAt(point);
+	}
+
+	@Benchmark
+	public Double varyingGetAtLongs() {
+		position[1] = nextFrame();
+		return exposureView.getAt(position);
+	}
+
+	public static void main(String... args) throws RunnerException {
+		Options options = new OptionsBuilder()
+			.include(MetadataItemViewBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+}
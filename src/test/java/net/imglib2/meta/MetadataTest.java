@@ -1,11 +1,39 @@
 package net.imglib2.meta;
 
+import net.imglib2.FinalInterval;
+import net.imglib2.Interval;
+import net.imglib2.Point;
+import net.imglib2.RandomAccess;
 import net.imglib2.RandomAccessible;
+import net.imglib2.RealPoint;
+import net.imglib2.RealRandomAccess;
+import net.imglib2.img.array.ArrayImgs;
+import net.imglib2.meta.calibration.Axes;
+import net.imglib2.meta.calibration.Axis;
+import net.imglib2.meta.calibration.Calibration;
+import net.imglib2.meta.calibration.DefaultLinearAxis;
+import net.imglib2.meta.view.DatasetView;
+import net.imglib2.meta.view.MetadataItemView;
+import net.imglib2.meta.view.MetadataStoreSubsampleView;
+import net.imglib2.meta.view.MetadataStoreView;
+import net.imglib2.meta.view.MetadataViewTransform;
+import net.imglib2.meta.view.RealDatasetView;
 import net.imglib2.position.FunctionRandomAccessible;
+import net.imglib2.transform.integer.Mixed;
+import net.imglib2.transform.integer.MixedTransform;
+import net.imglib2.type.numeric.integer.LongType;
 import net.imglib2.type.numeric.real.DoubleType;
+import net.imglib2.util.ConstantUtils;
+import net.imglib2.util.Intervals;
+import net.imglib2.view.ViewTransforms;
+import net.imglib2.view.fluent.RandomAccessibleView;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -96,4 +124,749 @@ public class MetadataTest {
         MetadataItem<String> defaultItem = Metadata.constant("testKey", defaultValue, 2);
         assertEquals(defaultItem, item.or(defaultItem));
     }
+
+    @Test
+    public void testAbsentMetadataItemOnNegativeAxes() {
+        MetadataItem<String> item = Metadata.absent("testKey", 2, -1);
+        assertFalse(item.isPresent());
+        assertEquals(Metadata.NO_AXIS_MASK, item.attachedAxesMask());
+        assertTrue(item.isAttachedTo(-1));
+        assertFalse(item.isAttachedTo(1));
+
+        // Lookups for negative axes fall back to absent items through any store
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add("testKey", "value", 0);
+        MetadataStore view = new MetadataStoreView(store, ViewTransforms.permute(3, 0, 2));
+        for (MetadataStore s : Arrays.asList(store, view, new OverlayMetadataStore(view))) {
+            assertFalse(s.item("testKey", String.class, -1).isPresent());
+            assertEquals("fallback", s.item("testKey", String.class, -1).valueOr("fallback"));
+        }
+    }
+
+    @Test
+    public void testAbsentMetadataItemIsInterned() {
+        MetadataItem<String> item = Metadata.absent("internedKey", 3, 1, 2);
+        assertSame(item, Metadata.absent("internedKey", 3, 1, 2));
+        assertNotSame(item, Metadata.absent("internedKey", 3, 2, 1));
+        assertNotSame(item, Metadata.absent("internedKey", 2, 1, 2));
+        assertNotSame(item, Metadata.absent("otherKey", 3, 1, 2));
+
+        // Mutating the request must not affect the interned item
+        int[] axes = {0};
+        MetadataItem<String> absent = Metadata.absent("internedKey", 3, axes);
+        axes[0] = 2;
+        assertArrayEquals(new int[] {0}, absent.attachedAxes());
+
+        assertFalse(item.isPresent());
+        assertNull(item.valueOrNull());
+        assertTrue(Metadata.constant("internedKey", "value", 3, 1, 2).isPresent());
+        assertEquals("value", Metadata.constant("internedKey", "value", 3, 1, 2).valueOrNull());
+
+        // Arbitrary keys do not accumulate, but keys interned before are still interned
+        for (int i = 0; i < 10000; i++) {
+            MetadataItem<String> missing = Metadata.absent("missing" + i, 2, 0);
+            assertEquals("missing" + i, missing.name());
+            assertFalse(missing.isPresent());
+        }
+        assertSame(item, Metadata.absent("internedKey", 3, 1, 2));
+    }
+
+    @Test
+    public void testAbsentMetadataItemThroughViews() {
+        MetadataStore store = new IndexedMetadataStore(3);
+        MetadataStore view = new MetadataStoreView(store, ViewTransforms.permute(3, 0, 2));
+        MetadataItem<String> item = view.item("missing", String.class, 0);
+        assertFalse(item.isPresent());
+        assertEquals(3, item.numDimensions());
+        assertSame(item, view.item("missing", String.class, 0));
+    }
+
+    @Test
+    public void testAxisMasks() {
+        assertEquals(0b101L, Metadata.axisMask(0, 2));
+        assertEquals(0L, Metadata.axisMask());
+        assertArrayEquals(new int[] {0, 2, 63}, Metadata.axes(Metadata.axisMask(63, 2, 0)));
+        assertEquals(Metadata.NO_AXIS_MASK, Metadata.axisMask(0, 64));
+        assertThrows(IllegalArgumentException.class, () -> Metadata.axisMask(-1));
+
+        MetadataItem<String> constant = Metadata.constant("testKey", "testValue", 3, 2, 0);
+        assertEquals(0b101L, constant.attachedAxesMask());
+        assertEquals(0L, constant.varyingAxesMask());
+        assertTrue(constant.isAttachedTo(0, 2));
+        assertFalse(constant.isAttachedTo(0, 0));
+        assertFalse(constant.isAttachedTo(0, 2, 64));
+
+        MetadataItem<String> varying = Metadata.varying("testKey", ConstantUtils.constantRandomAccessible("v", 1), 3, new int[] {1}, 1);
+        assertEquals(0b10L, varying.attachedAxesMask());
+        assertEquals(0b10L, varying.varyingAxesMask());
+    }
+
+    @Test
+    public void testAxesBeyondMask() {
+        MetadataItem<String> item = Metadata.constant("testKey", "testValue", 72, 70, 1);
+        assertEquals(Metadata.NO_AXIS_MASK, item.attachedAxesMask());
+        assertTrue(item.isAttachedTo(1, 70));
+        assertFalse(item.isAttachedTo(1));
+        assertFalse(item.isAttachedTo(1, 71));
+
+        MetadataStore store = new IndexedMetadataStore(72);
+        store.add("testKey", "a", 70);
+        store.add("testKey", "b", 71);
+        store.add("testKey", "c", 0, 70);
+        assertEquals("a", store.item("testKey", 70).value());
+        assertEquals("b", store.item("testKey", 71).value());
+        assertEquals("c", store.item("testKey", 70, 0).value());
+        assertFalse(store.item("testKey", 69).isPresent());
+
+        store.put("testKey", "d", 71);
+        assertEquals("d", store.item("testKey", 71).value());
+        assertEquals(3, store.items().size());
+        assertTrue(store.remove("testKey", 70));
+        assertFalse(store.item("testKey", 70).isPresent());
+        assertEquals("d", store.item("testKey", 71).value());
+
+        // Slicing away axis 70 drops the item attached to it alone
+        MetadataStore view = new MetadataStoreView(store, ViewTransforms.hyperSlice(72, 71, 0));
+        assertEquals(1, view.items().size());
+        assertEquals("c", view.item("testKey", 0, 70).value());
+    }
+
+    @Test
+    public void testAxisMasksThroughViews() {
+        MetadataItem<String> item = Metadata.constant("testKey", "testValue", 3, 0, 2);
+        // Slicing away axis 0 retains axis 2, which becomes axis 1
+        MetadataItem<String> sliced = item.view().slice(0, 0);
+        assertArrayEquals(new int[] {1}, sliced.attachedAxes());
+        assertEquals(0b10L, sliced.attachedAxesMask());
+        assertTrue(sliced.isAttachedTo(1));
+
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add("first", "a", 0);
+        store.add("last", "b", 2);
+        store.add("global", "c");
+        MetadataStore view = new MetadataStoreView(store, ViewTransforms.hyperSlice(3, 0, 0));
+        assertEquals(2, view.items().size());
+        assertEquals("b", view.item("last", 1).value());
+    }
+
+    @Test
+    public void testDeclaredValueClass() {
+        MetadataKey<Number> key = MetadataKey.of("declared", Number.class);
+        // Evaluating this data would fail
+        RandomAccessible<Number> data = new FunctionRandomAccessible<>(1,
+            (loc, out) -> { throw new AssertionError("data evaluated"); },
+            () -> { throw new AssertionError("data evaluated"); }
+        );
+        MetadataStore store = new IndexedMetadataStore(2);
+        store.add(Metadata.varying(key, data, 2, new int[] {0}, 0));
+        MetadataItem<Number> item = store.item(key, 0);
+        assertTrue(item.isPresent());
+        assertEquals(Number.class, item.valueClass());
+        assertTrue(store.item("declared", Object.class, 0).isPresent());
+        assertFalse(store.item("declared", String.class, 0).isPresent());
+
+        store.put(key, 5, 1);
+        assertEquals(Number.class, store.item(key, 1).valueClass());
+        assertEquals(Integer.class, Metadata.constant("inferred", 5, 2).valueClass());
+    }
+
+    @Test
+    public void testInferredValueClassEvaluatesOnce() {
+        AtomicInteger evaluations = new AtomicInteger();
+        RandomAccessible<DoubleType> data = new FunctionRandomAccessible<>(1,
+            (loc, out) -> out.set(loc.getLongPosition(0)),
+            () -> {
+                evaluations.incrementAndGet();
+                return new DoubleType();
+            }
+        );
+        MetadataItem<DoubleType> item = Metadata.varying("inferred", data, 2, new int[] {0}, 0);
+        assertTrue(item.isOfType(DoubleType.class));
+        int evaluated = evaluations.get();
+        assertTrue(item.isOfType(DoubleType.class));
+        assertFalse(item.isOfType(String.class));
+        assertEquals(evaluated, evaluations.get());
+        assertFalse(Metadata.absent("inferred", 2, 0).isOfType(Object.class));
+    }
+
+    @Test
+    public void testPrimitiveItems() {
+        DoubleMetadataItem constant = Metadata.constantDouble("exposure", 0.5, 3);
+        assertEquals(0.5, constant.doubleValue(), 0.0);
+        assertEquals(0.5, constant.getDouble(4, 2, 1), 0.0);
+        assertEquals(0.5, constant.value().get(), 0.0);
+        assertTrue(constant.isOfType(DoubleType.class));
+
+        // Per-plane timestamps along axis 2 of an XYT dataset
+        double[] timestamps = {0.0, 1.5, 3.0};
+        DoubleMetadataItem varying = Metadata.varyingDouble("timestamp", timestamps, new long[] {3}, 3, new int[] {2}, 2);
+        assertEquals(1.5, varying.getDouble(7, 8, 1), 0.0);
+        assertEquals(3.0, varying.getDouble(new Point(0, 0, 2)), 0.0);
+        assertEquals(3.0, varying.getAt(0, 0, 2).get(), 0.0);
+        assertEquals(0b100L, varying.varyingAxesMask());
+        assertEquals(0.0, varying.doubleValue(), 0.0);
+
+        // Writes go to the backing array
+        varying.setAt(new DoubleType(2.0), new long[] {0, 0, 1});
+        assertEquals(2.0, timestamps[1], 0.0);
+        assertEquals(2.0, varying.getDouble(0, 0, 1), 0.0);
+
+        // Two-dimensional data, varying along axes 0 and 2
+        long[] counts = {1, 2, 3, 4, 5, 6};
+        LongMetadataItem grid = Metadata.varyingLong("count", counts, new long[] {2, 3}, 3, new int[] {0, 2});
+        assertEquals(4L, grid.getLong(1, 9, 1));
+        assertEquals(5L, grid.getAt(0, 0, 2).get());
+        assertEquals(1L, grid.longValue());
+        assertEquals(9, Metadata.varyingInt("slot", new int[] {9, 8}, new long[] {2}, 2, new int[] {1}, 1).intValue());
+
+        IntMetadataItem index = Metadata.constantInt("index", 7, 2, 0);
+        assertEquals(7, index.intValue());
+        assertTrue(index.isAttachedTo(0));
+
+        assertThrows(IllegalArgumentException.class, () -> Metadata.varyingInt("bad", new int[4], new long[] {3}, 2, new int[] {0}));
+        assertThrows(IllegalArgumentException.class, () -> Metadata.varyingInt("bad", new int[4], new long[] {4}, 2, new int[] {0, 1}));
+    }
+
+    @Test
+    public void testDenseItems() {
+        // An XYT dataset with T in [10, 14]
+        Interval interval = new FinalInterval(new long[] {0, 0, 10}, new long[] {9, 2, 14});
+        MetadataItem<DoubleType> exposure = Metadata.dense("exposure", new DoubleType(), interval, new int[] {2}, 2);
+        assertEquals(0.0, exposure.getAt(0, 0, 12).get(), 0.0);
+        assertEquals(DoubleType.class, exposure.valueClass());
+        for (int t = 10; t <= 14; t++) {
+            exposure.setAt(new DoubleType(t / 10.0), 0, 0, t);
+        }
+        assertEquals(1.2, exposure.getAt(5, 1, 12).get(), 0.0);
+        exposure.setAt(new DoubleType(7), new Point(0, 0, 14));
+        assertEquals(7, exposure.getAt(new long[] {3, 2, 14}).get(), 0.0);
+        assertEquals(1.3, exposure.getAt(3, 2, 13).get(), 0.0);
+
+        MetadataItem<String> labels = Metadata.denseObjects("label", String.class, interval, new int[] {1}, 1);
+        assertNull(labels.getAt(0, 0, 10));
+        labels.setAt("first", 0, 0, 10);
+        labels.setAt("last", new long[] {0, 2, 10});
+        assertEquals("first", labels.getAt(4, 0, 11));
+        assertEquals("last", labels.getAt(4, 2, 12));
+        assertTrue(labels.isOfType(String.class));
+
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add(labels);
+        store.item("label", String.class, 1).setAt("middle", 0, 1, 10);
+        assertEquals("middle", labels.getAt(0, 1, 10));
+    }
+
+    @Test
+    public void testVaryingItemWrites() {
+        // Values along axis 1 of a 3D dataset, recording the data positions written to
+        List<Long> written = new ArrayList<>();
+        RandomAccessible<String> data = ConstantUtils.constantRandomAccessible("value", 1);
+        MetadataItem<String> item = Metadata.varying("testKey", data, 3, (pos, value) -> written.add(pos.getLongPosition(0)), new int[] {1}, 1);
+
+        item.setAt("a", 5, 2, 7);
+        item.setAt("b", new long[] {5, 3, 7});
+        item.setAt("c", new Point(5, 4, 7));
+        assertEquals(Arrays.asList(2L, 3L, 4L), written);
+
+        MetadataWriter<String> writer = item.writer();
+        writer.setAt("d", 0, 9, 0);
+        writer.setAt("e", new Point(0, 8, 0));
+        assertEquals(Arrays.asList(2L, 3L, 4L, 9L, 8L), written);
+
+        // Items without a setter are read-only
+        MetadataItem<String> readOnly = Metadata.varying("testKey", data, 3, new int[] {1}, 1);
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.setAt("a", 0, 0, 0));
+        assertThrows(UnsupportedOperationException.class, () -> Metadata.constant("testKey", "a", 3).view().writer().setAt("b", 0, 0, 0));
+    }
+
+    @Test
+    public void testSparseItems() {
+        // Events on a few frames of a long XYT time series
+        SparseMetadataItem<String> events = Metadata.sparse("event", String.class, "none", 3, 2, 2);
+        assertEquals("none", events.getAt(0, 0, 5_000_000));
+        events.setAt("stimulus", 0, 0, 1_000);
+        events.setAt("end", new long[] {0, 0, 9_999_999});
+        events.setAt("start", new Point(0, 0, 0));
+        for (int t = 2_000; t < 2_100; t++) {
+            events.setAt("burst", 0, 0, t);
+        }
+        assertEquals(103, events.numValues());
+        assertEquals("stimulus", events.getAt(4, 2, 1_000));
+        assertEquals("start", events.getAt(new Point(1, 1, 0)));
+        assertEquals("burst", events.getAt(new long[] {0, 0, 2_050}));
+        assertEquals("none", events.getAt(0, 0, 2_100));
+        assertTrue(events.hasValueAt(9_999_999));
+        assertFalse(events.hasValueAt(5));
+
+        List<Long> positions = new ArrayList<>();
+        events.forEachValue((value, t) -> positions.add(t));
+        assertEquals(103, positions.size());
+        assertEquals(Long.valueOf(0), positions.get(0));
+        assertEquals(Long.valueOf(1_000), positions.get(1));
+        assertEquals(Long.valueOf(9_999_999), positions.get(102));
+
+        events.setAt("response", 0, 0, 1_000);
+        assertEquals("response", events.getAt(0, 0, 1_000));
+        assertEquals(103, events.numValues());
+        assertTrue(events.unsetAt(1_000));
+        assertFalse(events.unsetAt(1_000));
+        assertEquals("none", events.getAt(0, 0, 1_000));
+        assertEquals(102, events.numValues());
+
+        assertEquals(String.class, events.valueClass());
+        assertArrayEquals(new int[] {2}, events.varyingAxes());
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add(events);
+        assertEquals("burst", store.item("event", String.class, 2).getAt(0, 0, 2_001));
+    }
+
+    @Test
+    public void testRunLengthItems() {
+        // Exposure times of an XYT time series, changing every few hundred frames
+        RunLengthMetadataItem<Double> exposure = Metadata.runLength("exposure", Double.class, 3, 2, 2);
+        assertEquals(0, exposure.length());
+        exposure.append(0.1, 300);
+        exposure.append(0.1, 200);
+        exposure.append(0.5, 250);
+        exposure.setAt(0.2, 0, 0, 750);
+        assertEquals(751, exposure.length());
+        assertEquals(3, exposure.numRuns());
+        assertEquals(500, exposure.runStart(1));
+        assertEquals(Double.valueOf(0.5), exposure.runValue(1));
+        assertEquals(Double.valueOf(0.1), exposure.getAt(3, 4, 499));
+        assertEquals(Double.valueOf(0.5), exposure.getAt(new long[] {0, 0, 500}));
+        assertEquals(Double.valueOf(0.2), exposure.getAt(new Point(0, 0, 750)));
+        assertThrows(IndexOutOfBoundsException.class, () -> exposure.getAt(0, 0, 751));
+
+        // Overwriting single positions splits and merges runs
+        exposure.setAt(0.5, 0, 0, 250);
+        assertEquals(5, exposure.numRuns());
+        assertEquals(Double.valueOf(0.5), exposure.getAt(0, 0, 250));
+        assertEquals(Double.valueOf(0.1), exposure.getAt(0, 0, 251));
+        exposure.setAt(0.1, 0, 0, 250);
+        assertEquals(3, exposure.numRuns());
+        exposure.setAt(0.5, 0, 0, 499);
+        assertEquals(3, exposure.numRuns());
+        assertEquals(499, exposure.runStart(1));
+
+        // Sequential access through a RandomAccess
+        RandomAccess<Double> access = exposure.randomAccess();
+        double sum = 0;
+        for (int t = 0; t < exposure.length(); t++) {
+            access.setPosition(t, 2);
+            sum += access.get();
+        }
+        assertEquals(499 * 0.1 + 251 * 0.5 + 0.2, sum, 1e-9);
+        access.setPosition(10, 2);
+        assertEquals(Double.valueOf(0.1), access.get());
+
+        assertEquals(Double.class, exposure.valueClass());
+        assertThrows(IllegalArgumentException.class, () -> exposure.append(1.0, -1));
+    }
+
+    @Test
+    public void testAnalyticItems() {
+        // Timestamps of an XYT time series acquired at 4 Hz, starting at 1.5s
+        AnalyticMetadataItem time = Metadata.affine("time", 1.5, 0.25, 3, 2, 2);
+        assertEquals(2, time.axis());
+        assertEquals(1.5, time.doubleValue(), 0);
+        assertEquals(4.0, time.getDouble(7, 3, 10), 0);
+        assertEquals(4.0, time.getAt(new Point(7, 3, 10)).get(), 0);
+        assertEquals(DoubleType.class, time.valueClass());
+        assertThrows(UnsupportedOperationException.class, () -> time.setAt(new DoubleType(), 0, 0, 0));
+
+        AnalyticMetadataItem quadratic = Metadata.polynomial("z", new double[] {1, -2, 0.5}, 3, 2, 2);
+        assertEquals(1 - 2 * 4 + 0.5 * 16, quadratic.getDouble(0, 0, 4), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> Metadata.polynomial("z", new double[0], 3, 2, 2));
+
+        // Stage positions at irregular times, interpolated and extrapolated linearly
+        AnalyticMetadataItem stage = Metadata.piecewiseLinear("stage", new double[] {0, 2, 6}, new double[] {10, 14, 10}, 3, 2, 2);
+        assertEquals(12, stage.getDouble(0, 0, 1), 1e-12);
+        assertEquals(14, stage.getDouble(0, 0, 2), 1e-12);
+        assertEquals(13, stage.getDouble(0, 0, 3), 1e-12);
+        assertEquals(8, stage.getDouble(0, 0, -1), 1e-12);
+        assertEquals(9, stage.getDouble(0, 0, 7), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> Metadata.piecewiseLinear("stage", new double[] {0, 0}, new double[] {1, 2}, 3, 2, 2));
+
+        // Views of analytic items agree with generic views of them, without wrapping
+        List<Mixed> transforms = Arrays.asList( //
+                ViewTransforms.translate(0, 0, 5), //
+                ViewTransforms.invertAxis(3, 2), //
+                ViewTransforms.permute(3, 0, 2), //
+                ViewTransforms.hyperSlice(3, 2, 3));
+        for (AnalyticMetadataItem item : Arrays.asList(time, quadratic, stage)) {
+            for (Mixed transform : transforms) {
+                AnalyticMetadataItem transformed = item.transform(transform);
+                MetadataItemView<DoubleType> expected = new MetadataItemView<>(item, transform);
+                assertEquals(expected.numDimensions(), transformed.numDimensions());
+                assertArrayEquals(expected.attachedAxes(), transformed.attachedAxes());
+                long[] pos = new long[transformed.numDimensions()];
+                for (long x = -4; x < 8; x++) {
+                    Arrays.fill(pos, x);
+                    assertEquals(expected.getAt(pos).get(), transformed.getDouble(pos), 1e-9);
+                }
+            }
+            AnalyticMetadataItem subsampled = item.transform(new long[] {1, 1, 3});
+            for (long x = 0; x < 8; x++) {
+                assertEquals(item.getDouble(0, 0, 3 * x), subsampled.getDouble(0, 0, x), 1e-9);
+            }
+        }
+        assertEquals(-1, time.transform(ViewTransforms.hyperSlice(3, 2, 3)).axis());
+
+        // Store views collapse analytic items
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add(time);
+        MetadataStore view = new MetadataStoreView(new MetadataStoreView(store, ViewTransforms.translate(0, 0, 4)), ViewTransforms.invertAxis(3, 2));
+        MetadataItem<DoubleType> viewed = view.item("time", DoubleType.class, 2);
+        assertTrue(viewed instanceof AnalyticMetadataItem);
+        assertEquals(time.getDouble(0, 0, -6), ((AnalyticMetadataItem) viewed).getDouble(0, 0, 2), 1e-12);
+        MetadataItem<DoubleType> subsampled = new MetadataStoreSubsampleView(store, new long[] {1, 1, 2}).item("time", DoubleType.class, 2);
+        assertTrue(subsampled instanceof AnalyticMetadataItem);
+        assertEquals(time.getDouble(0, 0, 6), subsampled.getAt(0, 0, 3).get(), 1e-12);
+    }
+
+    @Test
+    public void testCachedItems() {
+        // An item reading exposure times from a backend, varying along axis 1
+        double[] backend = {0.1, 0.2, 0.3, 0.4};
+        AtomicInteger reads = new AtomicInteger();
+        RandomAccessible<DoubleType> data = new FunctionRandomAccessible<>(1,
+            (loc, out) -> {
+                reads.incrementAndGet();
+                out.set(backend[loc.getIntPosition(0)]);
+            },
+            DoubleType::new
+        );
+        MetadataItem<DoubleType> source = Metadata.varying("exposure", data, 3,
+            (pos, value) -> backend[pos.getIntPosition(0)] = value.get(), new int[] {1}, 1);
+        CachedMetadataItem<DoubleType> cached = Metadata.cached(source, 2);
+        assertSame(source, cached.source());
+        assertArrayEquals(source.varyingAxes(), cached.varyingAxes());
+        assertEquals(source.attachedAxesMask(), cached.attachedAxesMask());
+
+        // Values are keyed by position along the varying axis only
+        assertEquals(0.2, cached.getAt(0, 1, 0).get(), 0);
+        assertEquals(0.2, cached.getAt(new long[] {5, 1, 7}).get(), 0);
+        assertEquals(0.2, cached.getAt(new Point(3, 1, 3)).get(), 0);
+        assertEquals(1, reads.get());
+        assertEquals(1, cached.numCached());
+
+        // Least recently used values are evicted
+        cached.getAt(0, 2, 0);
+        cached.getAt(0, 1, 0);
+        cached.getAt(0, 3, 0);
+        assertEquals(2, cached.numCached());
+        assertEquals(3, reads.get());
+        cached.getAt(0, 1, 0);
+        assertEquals(3, reads.get());
+        cached.getAt(0, 2, 0);
+        assertEquals(4, reads.get());
+
+        // Views read through the cache
+        RandomAccess<DoubleType> access = cached.view().permute(0, 1).randomAccess();
+        access.setPosition(new long[] {2, 0, 0});
+        assertEquals(0.3, access.get().get(), 0);
+        assertEquals(4, reads.get());
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add(cached);
+        MetadataItem<DoubleType> viewed = new MetadataStoreView(store, ViewTransforms.translate(0, 1, 0)).item("exposure", DoubleType.class, 1);
+        assertEquals(0.2, viewed.getAt(0, 3, 0).get(), 0);
+        assertEquals(4, reads.get());
+
+        // Writes through the cache evict the value written
+        cached.setAt(new DoubleType(0.5), 0, 2, 0);
+        assertEquals(0.5, cached.getAt(0, 2, 0).get(), 0);
+        cached.writer().setAt(new DoubleType(0.6), 0, 2, 0);
+        assertEquals(0.6, cached.getAt(0, 2, 0).get(), 0);
+
+        // Writes bypassing the cache need explicit invalidation
+        backend[1] = 0.7;
+        assertEquals(0.2, cached.getAt(0, 1, 0).get(), 0);
+        cached.invalidateAt(0, 1, 0);
+        assertEquals(0.7, cached.getAt(0, 1, 0).get(), 0);
+        cached.invalidate();
+        assertEquals(0, cached.numCached());
+
+        assertFalse(Metadata.cached(Metadata.absent("exposure", 3, 1), 2).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> Metadata.cached(source, 0));
+    }
+
+    @Test
+    public void testConstantItemFastPaths() {
+        String author = "author";
+        MetadataItem<String> item = Metadata.constant("author", author, 3);
+        assertSame(author, item.value());
+        assertSame(author, item.valueOr("other"));
+        assertSame(author, item.getAt(1, 2, 3));
+        assertSame(author, item.getAt(new long[] {1, 2, 3}));
+        assertSame(author, item.getType());
+        assertEquals(0, item.varyingAxes().length);
+
+        // Random accesses see later changes of the value
+        RandomAccess<String> access = item.randomAccess();
+        access.setPosition(new long[] {4, 5, 6});
+        assertSame(author, access.get());
+        assertEquals(5, access.getLongPosition(1));
+        item.setValue("editor");
+        assertEquals("editor", access.get());
+        assertEquals("editor", access.copy().get());
+        assertEquals(6, access.copy().getLongPosition(2));
+
+        // Views of constant items skip position transforms
+        MetadataItemView<String> view = item.view().slice(0, 4).permute(0, 1);
+        assertEquals(2, view.numDimensions());
+        assertEquals("editor", view.getAt(7, 8));
+        assertEquals("editor", view.getAt(new long[] {7, 8}));
+        assertEquals("editor", view.getAt(new Point(7, 8)));
+        assertEquals("editor", view.value());
+        assertThrows(NoSuchElementException.class, () -> Metadata.absent("author", 3).view().getAt(0, 0, 0));
+    }
+
+    @Test
+    public void testInterpolatedItems() {
+        // Stage positions of an XYZ stack, varying along axis 2
+        MetadataItem<DoubleType> stage = Metadata.varyingDouble("stage", new double[] {0, 10, 30}, new long[] {3}, 3, new int[] {2}, 2);
+        RealMetadataItem linear = Metadata.interpolate(stage, RealMetadataItem.Interpolation.LINEAR);
+        assertEquals("stage", linear.name());
+        assertArrayEquals(new int[] {2}, linear.varyingAxes());
+        assertEquals(3, linear.numDimensions());
+        assertEquals(5, linear.getDouble(0.3, 7, 0.5), 1e-12);
+        assertEquals(20, linear.getDouble(new RealPoint(0, 0, 1.5)), 1e-12);
+        // Integer positions at the upper edge do not read beyond it
+        assertEquals(30, linear.getDouble(0, 0, 2), 1e-12);
+
+        RealMetadataItem nearest = Metadata.interpolate(stage, RealMetadataItem.Interpolation.NEAREST_NEIGHBOR);
+        assertEquals(10, nearest.getDouble(0, 0, 1.4), 0);
+        assertEquals(30, nearest.getDouble(0, 0, 1.6), 0);
+
+        // Many samples through one access, reusing its value
+        RealRandomAccess<DoubleType> access = linear.realRandomAccess();
+        DoubleType value = access.get();
+        for (double z = 0; z <= 1; z += 0.25) {
+            access.setPosition(z, 2);
+            assertSame(value, access.get());
+            assertEquals(10 * z, value.get(), 1e-12);
+        }
+        access.setPosition(1.75, 2);
+        assertEquals(25, access.copy().get().get(), 1e-12);
+
+        // Items varying along several axes are interpolated bilinearly
+        MetadataItem<DoubleType> grid = Metadata.varyingDouble("grid", new double[] {0, 1, 2, 3}, new long[] {2, 2}, 3, new int[] {0, 1}, 0, 1);
+        assertEquals(1.5, Metadata.interpolate(grid, RealMetadataItem.Interpolation.LINEAR).getDouble(0.5, 0.5, 9), 1e-12);
+
+        // Integer arrays, and sources that are not array-backed, interpolate alike
+        MetadataItem<LongType> counts = Metadata.varyingLong("counts", new long[] {0, 4}, new long[] {2}, 3, new int[] {2}, 2);
+        assertEquals(1, Metadata.interpolate(counts, RealMetadataItem.Interpolation.LINEAR).getDouble(0, 0, 0.25), 1e-12);
+        assertEquals(5, Metadata.interpolate(stage.view(), RealMetadataItem.Interpolation.LINEAR).getDouble(new RealPoint(0, 0, 0.5)), 1e-12);
+
+        // Analytic items are evaluated exactly
+        RealMetadataItem time = Metadata.interpolate(Metadata.polynomial("time", new double[] {0, 0, 1}, 3, 2, 2), RealMetadataItem.Interpolation.LINEAR);
+        assertEquals(2.25, time.getDouble(0, 0, 1.5), 1e-12);
+        assertThrows(NoSuchElementException.class, () -> Metadata.interpolate(Metadata.absent("stage", 3, 2), RealMetadataItem.Interpolation.LINEAR));
+    }
+
+    @Test
+    public void testInterpolatedDataset() {
+        Dataset<DoubleType> dataset = Dataset.wrap(ArrayImgs.doubles(4, 4, 3));
+        dataset.store().add(Metadata.affine("time", 2, 0.5, 3, 2, 2));
+        dataset.store().add(Metadata.varyingDouble("stage", new double[] {0, 10, 30}, new long[] {3}, 3, new int[] {2}, 2));
+        dataset.store().add("name", "sample");
+
+        RealDatasetView<DoubleType, ?> real = dataset.view().translate(0, 0, 1).interpolate(RandomAccessibleView.Interpolation.nLinear());
+        assertEquals(3, real.numDimensions());
+        assertEquals(RealMetadataItem.Interpolation.LINEAR, real.store().interpolation());
+        assertEquals(2.25, real.store().item("time", 2).getDouble(0, 0, 1.5), 1e-12);
+        assertEquals(20, real.store().item("stage", 2).getDouble(0, 0, 2.5), 1e-12);
+        assertEquals("sample", real.store().source().item("name", String.class).value());
+        assertThrows(NoSuchElementException.class, () -> real.store().item("name"));
+        assertThrows(NoSuchElementException.class, () -> real.store().item("missing", 2));
+
+        RealDatasetView<DoubleType, ?> nearest = dataset.view().interpolate(RandomAccessibleView.Interpolation.nearestNeighbor(), RealMetadataItem.Interpolation.NEAREST_NEIGHBOR);
+        assertEquals(30, nearest.store().item("stage", 2).getDouble(0, 0, 1.6), 0);
+    }
+
+    @Test
+    public void testBulkExtraction() {
+        // Timestamps of a 4D XYCT dataset, varying along channel (axis 2) and time (axis 3)
+        double[] data = {0, 1, 2, 10, 11, 12, 20, 21, 22, 30, 31, 32};
+        DoubleMetadataItem time = Metadata.varyingDouble("time", data, new long[] {3, 4}, 4, new int[] {2, 3}, 2, 3);
+        assertArrayEquals(data, time.toDoubleArray(new FinalInterval(3, 4)), 0);
+        assertArrayEquals(new double[] {11, 12, 21, 22}, time.toDoubleArray(Intervals.createMinMax(1, 1, 2, 2)), 0);
+        assertArrayEquals(new long[] {11, 12, 21, 22}, time.toLongArray(Intervals.createMinMax(1, 1, 2, 2), t -> (long) t.get()));
+        DoubleType[] copies = time.toArray(Intervals.createMinMax(0, 3, 2, 3), DoubleType[]::new);
+        assertEquals(30, copies[0].get(), 0);
+        assertEquals(32, copies[2].get(), 0);
+        List<Double> visited = new ArrayList<>();
+        time.forEachVarying(Intervals.createMinMax(2, 0, 2, 2), t -> visited.add(t.get()));
+        assertEquals(Arrays.asList(2.0, 12.0, 22.0), visited);
+        assertThrows(IllegalArgumentException.class, () -> time.toDoubleArray(new FinalInterval(3)));
+        // Regions must lie within the data, rather than wrapping into the next row
+        assertThrows(IndexOutOfBoundsException.class, () -> time.toDoubleArray(Intervals.createMinMax(1, 0, 3, 0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> time.toDoubleArray(Intervals.createMinMax(0, -1, 2, 0)));
+
+        // Views extract through their source, unless they invert a varying axis
+        MetadataItemView<DoubleType> translated = time.view().translate(0, 0, 1, 1).permute(2, 3);
+        assertArrayEquals(new double[] {0, 1, 10, 11}, translated.toDoubleArray(Intervals.createMinMax(1, 1, 2, 2), DoubleType::get), 0);
+        MetadataItemView<DoubleType> sliced = time.view().slice(2, 1);
+        assertArrayEquals(new double[] {11, 21, 31}, sliced.toDoubleArray(Intervals.createMinMax(1, 3), DoubleType::get), 0);
+        MetadataItemView<DoubleType> inverted = time.view().invertAxis(3);
+        assertArrayEquals(new double[] {20, 10}, inverted.toDoubleArray(Intervals.createMinMax(0, -2, 0, -1), DoubleType::get), 0);
+
+        // Other items extract through their random accesses
+        assertArrayEquals(new String[] {"a"}, Metadata.constant("name", "a", 4).toArray(new FinalInterval(new long[0]), String[]::new));
+        RunLengthMetadataItem<Integer> lut = Metadata.runLength("lut", Integer.class, 4, 3, 3);
+        lut.append(1, 2);
+        lut.append(5, 2);
+        assertArrayEquals(new long[] {1, 1, 5, 5}, lut.toLongArray(new FinalInterval(4), Integer::longValue));
+        assertArrayEquals(new int[] {0, 7}, Metadata.varyingInt("index", new int[] {0, 7}, new long[] {2}, 4, new int[] {3}, 3).toIntArray(new FinalInterval(2)));
+    }
+
+    @Test
+    public void testItemViewReads() {
+        // Views map positions into their source without changing results
+        DoubleMetadataItem time = Metadata.varyingDouble("time", new double[] {0, 1, 2, 10, 11, 12}, new long[] {3, 2}, 4, new int[] {2, 3}, 2, 3);
+        MetadataItemView<DoubleType> view = time.view().translate(0, 0, 1, 0).invertAxis(3).slice(0, 5);
+        assertEquals(3, view.numDimensions());
+        for (int c = 1; c <= 3; c++) {
+            for (int t = -1; t <= 0; t++) {
+                double expected = time.getDouble(0, 0, c - 1, -t);
+                assertEquals(expected, view.getAt(new Point(9, c, t)).get(), 0);
+                assertEquals(expected, view.getAt(new long[] {9, c, t}).get(), 0);
+                assertEquals(expected, view.getAt(9, c, t).get(), 0);
+            }
+        }
+
+        // Viewable values are transformed once per source value
+        Axis axis = new DefaultLinearAxis(Axes.X, 0.5, 0);
+        MetadataItem<Axis> item = Metadata.constant(Calibration.AXIS, axis, 3, 0);
+        MetadataItemView<Axis> translated = item.view().translate(4, 0, 0);
+        Axis transformed = translated.value();
+        assertNotSame(axis, transformed);
+        assertSame(transformed, translated.value());
+        assertSame(transformed, translated.valueOr(null));
+        item.setValue(new DefaultLinearAxis(Axes.X, 2, 0));
+        assertNotSame(transformed, translated.value());
+        assertEquals(2, translated.value().calibrated(1) - translated.value().calibrated(0), 1e-12);
+    }
+
+    @Test
+    public void testModificationCounts() {
+        for (MetadataStore store : Arrays.asList(new IndexedMetadataStore(3), new SimpleMetadataStore(3), new ConcurrentMetadataStore(3))) {
+            long count = store.modificationCount();
+            assertTrue(count >= 0);
+            store.add("unit", "um", 0);
+            assertNotEquals(count, store.modificationCount());
+            count = store.modificationCount();
+            store.put("unit", "nm", 0);
+            assertNotEquals(count, store.modificationCount());
+            count = store.modificationCount();
+            store.item("unit", 0);
+            assertFalse(store.remove("missing", 0));
+            assertEquals(count, store.modificationCount());
+            assertTrue(store.remove("unit", 0));
+            assertNotEquals(count, store.modificationCount());
+        }
+    }
+
+    @Test
+    public void testStoreViewCaching() {
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add("unit", "um", 2);
+        MetadataStore[] views = {
+                new MetadataStoreView(store, ViewTransforms.permute(3, 0, 2)),
+                new MetadataStoreSubsampleView(store, new long[] {2, 2, 2})};
+        int[] axes = {0, 2};
+        for (int i = 0; i < views.length; i++) {
+            MetadataStore view = views[i];
+            int axis = axes[i];
+            MetadataItem<String> unit = view.item("unit", String.class, axis);
+            assertSame(unit, view.item("unit", String.class, axis));
+            assertSame(view.items(), view.items());
+            assertEquals(store.modificationCount(), view.modificationCount());
+
+            // Views follow modifications of their source
+            store.put("unit", "nm", 2);
+            assertNotSame(unit, view.item("unit", String.class, axis));
+            assertEquals("nm", view.item("unit", String.class, axis).value());
+            store.add("name", "sample");
+            assertEquals(2, view.items().size());
+            assertTrue(store.remove("name"));
+            assertEquals(1, view.items().size());
+            assertTrue(store.remove("unit", 2));
+            assertFalse(view.item("unit", String.class, axis).isPresent());
+            store.add("unit", "um", 2);
+        }
+
+        // Sources that do not track their modifications are never cached
+        MetadataStore untracked = new IndexedMetadataStore(3) {
+            @Override
+            public long modificationCount() {
+                return -1L;
+            }
+        };
+        untracked.add("unit", "um", 2);
+        MetadataStore view = new MetadataStoreView(untracked, ViewTransforms.permute(3, 0, 2));
+        assertNotSame(view.item("unit", 0), view.item("unit", 0));
+        untracked.put("unit", "nm", 2);
+        assertEquals("nm", view.item("unit", 0).value());
+    }
+
+    @Test
+    public void testFlattenedStoreViews() {
+        Dataset<DoubleType> dataset = Dataset.wrap(ArrayImgs.doubles(8, 8, 12));
+        double[] stage = new double[12];
+        for (int z = 0; z < stage.length; z++) stage[z] = 10 * z;
+        dataset.store().add(Metadata.varyingDouble("stage", stage, new long[] {12}, 3, new int[] {2}, 2));
+        AnalyticMetadataItem time = Metadata.affine("time", 1, 0.5, 3, 2, 2);
+        dataset.store().add(time);
+
+        // Any chain of views yields a single view on the original store
+        DatasetView<DoubleType, ?> view = dataset.view().subsample(1, 1, 2).slice(0, 1).permute(0, 1).subsample(3, 1);
+        assertTrue(view.store() instanceof MetadataStoreView);
+        assertSame(dataset.store(), ((MetadataStoreView) view.store()).source());
+        assertEquals(2, view.store().numDimensions());
+        MetadataItem<DoubleType> viewed = view.store().item("stage", DoubleType.class, 0);
+        assertArrayEquals(new int[] {0}, viewed.attachedAxes());
+        assertEquals(0, viewed.getAt(0, 5).get(), 0);
+        assertEquals(60, viewed.getAt(1, 5).get(), 0);
+        MetadataItem<DoubleType> viewedTime = view.store().item("time", DoubleType.class, 0);
+        assertTrue(viewedTime instanceof AnalyticMetadataItem);
+        assertEquals(time.getDouble(0, 0, 6), viewedTime.getAt(1, 0).get(), 1e-12);
+
+        // The composite transform maps positions both ways
+        MetadataViewTransform transform = ((MetadataStoreView) view.store()).viewTransform();
+        assertEquals(2, transform.numSourceDimensions());
+        assertEquals(3, transform.numTargetDimensions());
+        long[] target = new long[3];
+        transform.apply(new long[] {1, 5}, target);
+        assertArrayEquals(new long[] {1, 5, 6}, target);
+        long[] source = new long[2];
+        assertTrue(transform.applyInverse(source, new long[] {1, 4, 12}));
+        assertArrayEquals(new long[] {2, 4}, source);
+        assertFalse(transform.applyInverse(source, new long[] {1, 4, 3}));
+        assertFalse(transform.applyInverse(source, new long[] {0, 4, 6}));
+
+        // Transforms mapping one axis onto differently subsampled axes are not flattened
+        MixedTransform diagonal = new MixedTransform(1, 2);
+        diagonal.setComponentMapping(new int[] {0, 0});
+        MetadataStore subsampled = new MetadataStoreSubsampleView(new IndexedMetadataStore(2), new long[] {1, 2});
+        assertNull(((MetadataStoreView) subsampled).viewTransform().concatenate(diagonal));
+        assertSame(subsampled, new MetadataStoreView(subsampled, diagonal).source());
+        assertThrows(IllegalArgumentException.class, () -> MetadataViewTransform.subsample(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MetadataStoreSubsampleView(new IndexedMetadataStore(2), new long[] {2}));
+    }
+
+    @Test
+    public void testSubsampledValuesAreMemoized() {
+        Dataset<DoubleType> dataset = Dataset.wrap(ArrayImgs.doubles(8, 8, 12));
+        Metadata.calibration(dataset.store()).setAxis(new DefaultLinearAxis(Axes.Z, 2, 0), 2);
+        Calibration subsampled = Metadata.calibration(dataset.view().subsample(1, 1, 2).store());
+        Axis axis = subsampled.axis(2);
+        assertEquals(4, axis.calibrated(1), 1e-12);
+        assertSame(axis, subsampled.axis(2));
+
+        // Views both mixing and subsampling memoize too
+        Calibration sliced = Metadata.calibration(dataset.view().subsample(1, 1, 2).slice(0, 1).store());
+        assertSame(sliced.axis(1), sliced.axis(1));
+    }
 }
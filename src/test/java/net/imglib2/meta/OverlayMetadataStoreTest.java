@@ -0,0 +1,185 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.meta.general.General;
+import net.imglib2.meta.view.MetadataStoreView;
+import net.imglib2.view.ViewTransforms;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link OverlayMetadataStore}.
+ */
+public class OverlayMetadataStoreTest {
+
+    @Test
+    public void testLayeredLookup() {
+        MetadataStore first = new IndexedMetadataStore(3);
+        first.add("unit", "um", 0);
+        MetadataStore second = new IndexedMetadataStore(3);
+        second.add("unit", "mm", 0);
+        second.add("unit", "s", 2);
+
+        OverlayMetadataStore overlay = new OverlayMetadataStore(first, second);
+        assertEquals("um", overlay.item("unit", 0).value());
+        assertEquals("s", overlay.item("unit", 2).value());
+        assertFalse(overlay.item("unit", 1).isPresent());
+        assertSame(overlay.item("unit", 0), overlay.item("unit", 0));
+
+        // Writes go to the local layer, shadowing the backends
+        overlay.put("unit", "nm", 0);
+        assertEquals("nm", overlay.item("unit", 0).value());
+        assertEquals("um", first.item("unit", 0).value());
+        overlay.add("unit", "px", 1);
+        assertEquals("px", overlay.item("unit", 1).value());
+
+        // Removing local metadata reveals the backends again
+        assertTrue(overlay.remove("unit", 0));
+        assertEquals("um", overlay.item("unit", 0).value());
+        assertFalse(overlay.remove("unit", 2));
+        assertEquals("s", overlay.item("unit", 2).value());
+    }
+
+    @Test
+    public void testItems() {
+        MetadataStore first = new IndexedMetadataStore(3);
+        first.add("unit", "um", 0);
+        first.add("name", "first");
+        MetadataStore second = new IndexedMetadataStore(3);
+        second.add("unit", "mm", 0);
+        second.add("unit", "s", 2);
+
+        OverlayMetadataStore overlay = new OverlayMetadataStore(first, second);
+        overlay.add("name", "local");
+        List<Object> values = new ArrayList<>();
+        for (MetadataItem<?> item : overlay.items()) {
+            values.add(item.value());
+        }
+        assertEquals(Arrays.asList("local", "um", "s"), values);
+    }
+
+    @Test
+    public void testItemsAgreeWithLookups() {
+        MetadataStore backend = new IndexedMetadataStore(3);
+        backend.add("unit", 5, 0);
+        backend.add("unit", "mm", 0);
+        OverlayMetadataStore overlay = new OverlayMetadataStore(backend);
+        overlay.put("unit", "um", 0);
+        // The local String shadows the backend String, but not the backend Integer
+        assertEquals("um", overlay.item("unit", String.class, 0).value());
+        assertEquals(Integer.valueOf(5), overlay.item("unit", Integer.class, 0).value());
+        List<Object> values = new ArrayList<>();
+        for (MetadataItem<?> item : overlay.items()) {
+            values.add(item.value());
+        }
+        assertEquals(Arrays.asList("um", 5), values);
+    }
+
+    @Test
+    public void testManyAbsentLookups() {
+        MetadataStore backend = new IndexedMetadataStore(2);
+        OverlayMetadataStore overlay = new OverlayMetadataStore(backend);
+        for (int i = 0; i < 10000; i++) {
+            assertFalse(overlay.item("missing" + i, String.class, 0).isPresent());
+        }
+        backend.add("missing0", "found", 0);
+        assertEquals("found", overlay.item("missing0", String.class, 0).value());
+    }
+
+    @Test
+    public void testReadOnlyBackend() {
+        MetadataStore store = new IndexedMetadataStore(3);
+        store.add("unit", "um", 2);
+        MetadataStore view = new MetadataStoreView(store, ViewTransforms.permute(3, 0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> view.add("unit", "s", 1));
+
+        OverlayMetadataStore overlay = new OverlayMetadataStore(view);
+        overlay.add("unit", "s", 1);
+        assertEquals("s", overlay.item("unit", 1).value());
+        assertEquals("um", overlay.item("unit", 0).value());
+
+        overlay.add(General.NAME, "annotated");
+        assertEquals("annotated", overlay.info(General.class).name());
+        assertFalse(store.item("name").isPresent());
+    }
+
+    @Test
+    public void testInvalidate() {
+        // A backend that does not track its modifications
+        MetadataStore backend = new IndexedMetadataStore(2) {
+            @Override
+            public long modificationCount() {
+                return -1L;
+            }
+        };
+        OverlayMetadataStore overlay = new OverlayMetadataStore(backend);
+        assertFalse(overlay.item("unit", 0).isPresent());
+
+        backend.add("unit", "um", 0);
+        assertFalse(overlay.item("unit", 0).isPresent());
+        overlay.invalidate();
+        assertEquals("um", overlay.item("unit", 0).value());
+        assertTrue(overlay.modificationCount() < 0);
+    }
+
+    @Test
+    public void testTrackedBackendModifications() {
+        MetadataStore backend = new IndexedMetadataStore(2);
+        OverlayMetadataStore overlay = new OverlayMetadataStore(backend);
+        assertFalse(overlay.item("unit", 0).isPresent());
+
+        long count = overlay.modificationCount();
+        backend.add("unit", "um", 0);
+        assertNotEquals(count, overlay.modificationCount());
+        assertEquals("um", overlay.item("unit", 0).value());
+
+        count = overlay.modificationCount();
+        overlay.put("unit", "nm", 0);
+        assertNotEquals(count, overlay.modificationCount());
+        assertEquals("nm", overlay.item("unit", 0).value());
+    }
+
+    @Test
+    public void testMismatchedBackends() {
+        assertThrows(IllegalArgumentException.class, OverlayMetadataStore::new);
+        assertThrows(IllegalArgumentException.class,
+            () -> new OverlayMetadataStore(new IndexedMetadataStore(2), new IndexedMetadataStore(3)));
+    }
+}
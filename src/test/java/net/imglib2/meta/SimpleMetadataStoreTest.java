@@ -46,7 +46,9 @@ import net.imglib2.view.MixedTransformView;
 import net.imglib2.view.Views;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -114,4 +116,30 @@ public class SimpleMetadataStoreTest {
         assertEquals("blue", lutItem.getAt(0, 0, 2, 0, 0));
     }
 
+    @Test
+    public void testPutAndRemove() {
+        MetadataStore store = new SimpleMetadataStore(3);
+        store.add("foo", "first", 0);
+        store.add("bar", "bar");
+        store.add("foo", "second", 0);
+        store.add("foo", "other axis", 1);
+
+        store.put("foo", "replaced", 0);
+        assertEquals("replaced", store.item("foo", String.class, 0).value());
+        assertEquals("other axis", store.item("foo", String.class, 1).value());
+        // The replacement takes the position of the first replaced item
+        List<Object> values = new ArrayList<>();
+        store.items().forEach(item -> values.add(item.value()));
+        assertEquals(Arrays.asList("replaced", "bar", "other axis"), values);
+
+        assertTrue(store.remove("foo", 0));
+        assertFalse(store.remove("foo", 0));
+        assertNull(store.item("foo", String.class, 0).valueOr(null));
+        assertEquals(2, store.items().size());
+
+        // Putting a new key appends it
+        store.put("baz", "baz", 1, 2);
+        assertEquals("baz", store.item("baz", String.class, 2, 1).value());
+        assertEquals(3, store.items().size());
+    }
 }
@@ -0,0 +1,136 @@
+/*-
+ * #%L
+ * Metadata for ImgLib2
+ * %%
+ * Copyright (C) 2016 - 2025 Tobias Pietzsch, Stephan Preibisch, Stephan Saalfeld,
+ * John Bogovic, Albert Cardona, Barry DeZonia, Christian Dietz, Jan Funke,
+ * Aivar Grislis, Jonathan Hale, Grant Harris, Stefan Helfrich, Mark Hiner,
+ * Martin Horn, Steffen Jaensch, Lee Kamentsky, Larry Lindsey, Melissa Linkert,
+ * Mark Longair, Brian Northan, Nick Perry, Curtis Rueden, Johannes Schindelin,
+ * Gabriel Selzer, Jean-Yves Tinevez and Michael Zinsmaier.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+package net.imglib2.meta;
+
+import net.imglib2.FinalInterval;
+import net.imglib2.Point;
+import net.imglib2.type.numeric.real.DoubleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing per-frame metadata to varying items, as done at acquisition
+ * rate. Run with the GC profiler (as {@link #main} does) to compare the
+ * allocation rate of each way of writing; writes through a
+ * {@link MetadataWriter} should allocate nothing.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VaryingItemWriteBenchmark {
+
+	private static final int FRAMES = 1000;
+
+	private final double[] timestamps = new double[FRAMES];
+	private final DoubleType value = new DoubleType();
+	private final long[] position = new long[3];
+	private final Point point = new Point(3);
+
+	private MetadataItem<DoubleType> setterItem;
+	private MetadataWriter<DoubleType> setterWriter;
+	private MetadataItem<DoubleType> denseItem;
+	private MetadataWriter<DoubleType> denseWriter;
+	private int frame;
+
+	@Setup
+	public void setup() {
+		// Per-frame timestamps along axis 2 of an XYT dataset
+		setterItem = Metadata.varyingDouble("timestamp", timestamps, new long[] {FRAMES}, 3, new int[] {2}, 2);
+		setterWriter = setterItem.writer();
+		denseItem = Metadata.dense("timestamp", new DoubleType(), new FinalInterval(512, 512, FRAMES), new int[] {2}, 2);
+		denseWriter = denseItem.writer();
+	}
+
+	private long nextFrame() {
+		value.set(frame);
+		frame = (frame + 1) % FRAMES;
+		return frame;
+	}
+
+	@Benchmark
+	public void setterItemSetAt() {
+		position[2] = nextFrame();
+		setterItem.setAt(value, position);
+	}
+
+	@Benchmark
+	public void setterWriterSetAt() {
+		position[2] = nextFrame();
+		setterWriter.setAt(value, position);
+	}
+
+	@Benchmark
+	public void setterWriterSetAtLocalizable() {
+		point.setPosition(nextFrame(), 2);
+		setterWriter.setAt(value, point);
+	}
+
+	@Benchmark
+	public void denseItemSetAt() {
+		position[2] = nextFrame();
+		denseItem.setAt(value, position);
+	}
+
+	@Benchmark
+	public void denseWriterSetAt() {
+		position[2] = nextFrame();
+		denseWriter.setAt(value, position);
+	}
+
+	public static void main(String... args) throws RunnerException {
+		Options options = new OptionsBuilder()
+			.include(VaryingItemWriteBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+}
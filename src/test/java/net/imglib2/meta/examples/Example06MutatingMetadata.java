@@ -52,9 +52,10 @@ public class Example06MutatingMetadata {
         printFoo(dataset);
 
         /*
-         * FIXME: Adding a key that is present should probably overwrite the existing value.
+         * add() always appends a new item, so the value added first would still be returned.
+         * To overwrite an existing value, use put() instead, which replaces items with the same key and axes.
          */
-        dataset.store().add("foo", "Some new foo value", 0);
+        dataset.store().put("foo", "Some new foo value", 0);
         printFoo(dataset);
 
         /*
@@ -97,7 +97,7 @@ public class Example07Interfaces {
             return items.stream() //
                     .filter(item -> item.name().equals(key))
                     .filter(item -> item.isAttachedTo(dims)) //
-                    .filter(item -> ofType == null || ofType.isInstance(item.getType()))
+                    .filter(item -> ofType == null || item.isOfType(ofType))
                     .map(item -> (MetadataItem<T>) item)
                     .findFirst().orElseGet(() -> Metadata.absent(key, numDimensions(), dims));
         }
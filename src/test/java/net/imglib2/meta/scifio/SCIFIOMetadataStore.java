@@ -43,6 +43,8 @@ import java.util.function.Supplier;
  */
 public class SCIFIOMetadataStore implements MetadataStore{
     private final SCIFIOImgPlus<?> img;
+    // The cached channel item, reused by lookups along the same axes so that its cache outlives them
+    private MetadataItem<ColorTable> channelItem;
 
     public SCIFIOMetadataStore(SCIFIOImgPlus<?> img) {
         this.img = img;
@@ -97,18 +99,24 @@ public class SCIFIOMetadataStore implements MetadataStore{
         if (dims.length == 1 && metaAxis(dims[0]) != Axes.CHANNEL) {
             throw new IllegalArgumentException("Axis " + dims[0] + " is not the channel axis!");
         }
+        final MetadataItem<ColorTable> cached = channelItem;
+        if (cached != null && cached.numDimensions() == numDimensions() && cached.isAttachedTo(dims)) {
+            return cached;
+        }
         ViewRandomAccessible<ColorTable> imgView = new ViewRandomAccessible<>(
             1,
             pos -> img.getColorTable(pos.getIntPosition(0))
         );
-        BiConsumer<Localizable, ColorTable> setter = (pos, table) -> img.setColorTable(table, pos.getIntPosition(dims[0]));
-        return Metadata.varying(
+        BiConsumer<Localizable, ColorTable> setter = (pos, table) -> img.setColorTable(table, pos.getIntPosition(0));
+        // Color tables are looked up from the image on every access; writes through the item invalidate its cache
+        channelItem = Metadata.cached(Metadata.varying(
             Channels.CHANNEL,
             imgView,
             numDimensions(),
             setter,
             dims
-        );
+        ), 256);
+        return channelItem;
     }
 
     private <T> MetadataItem<String> handleName(Class<T> ofType) {